@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Mede o tempo até a aplicação ficar pronta e a latência da primeira requisição em cada modo:
+#   jar     - jar executável, sem AOT
+#   aot     - contexto gerado pelo Spring AOT
+#   aot-cds - AOT com o arquivo CDS (treinado na primeira execução)
+#   native  - imagem nativa, se target/demo-codigo existir (mvn -P native -DskipTests native:compile)
+#
+# Pré-requisitos: mvn -P aot -DskipTests package e o PostgreSQL de application.yml no ar.
+# Uso: scripts/medir-inicializacao.sh [repeticoes]
+# O resultado bruto fica em target/inicializacao.csv e a mediana de cada modo é impressa no fim.
+set -euo pipefail
+
+REPETICOES=${1:-5}
+PORTA=${PORTA:-8080}
+PRONTO="http://localhost:${PORTA}/actuator/health/readiness"
+PRIMEIRA="http://localhost:${PORTA}/mensagens?page=0&size=10"
+ALVO=target
+JAR="${ALVO}/demo-codigo-1.0-SNAPSHOT.jar"
+EXEC="${ALVO}/demo-codigo-1.0-SNAPSHOT-exec.jar"
+CDS="${ALVO}/app.jsa"
+SAIDA="${ALVO}/inicializacao.csv"
+
+comando() {
+  case "$1" in
+    jar) echo "java -jar ${EXEC}" ;;
+    aot) echo "java -Dspring.aot.enabled=true -jar ${JAR}" ;;
+    aot-cds) echo "java -XX:SharedArchiveFile=${CDS} -Dspring.aot.enabled=true -jar ${JAR}" ;;
+    native) echo "${ALVO}/demo-codigo" ;;
+  esac
+}
+
+agora_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+medir() {
+  local modo=$1 repeticao=$2 inicio pronto primeira pid
+  inicio=$(agora_ms)
+  $(comando "${modo}") --server.port="${PORTA}" >/dev/null 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "${PRONTO}"; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "modo ${modo} encerrou antes de ficar pronto" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  pronto=$(agora_ms)
+  primeira=$(curl -fs -o /dev/null -w '%{time_total}' "${PRIMEIRA}")
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  echo "${modo},${repeticao},$(( pronto - inicio )),$(awk -v s="${primeira}" 'BEGIN { printf "%.1f", s * 1000 }')" >> "${SAIDA}"
+}
+
+if [[ ! -f "${CDS}" ]]; then
+  # mesmo treino do Dockerfile: fecha o contexto logo após o refresh, sem tocar o banco
+  java -XX:ArchiveClassesAtExit="${CDS}" -Dspring.aot.enabled=true -Dspring.context.exit=onRefresh \
+    -jar "${JAR}" --spring.sql.init.mode=never \
+    --spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect \
+    --spring.jpa.properties.hibernate.temp.use_jdbc_metadata_defaults=false
+fi
+
+MODOS=(jar aot aot-cds)
+[[ -x "${ALVO}/demo-codigo" ]] && MODOS+=(native)
+
+echo "modo,repeticao,ms_ate_pronto,ms_primeira_requisicao" > "${SAIDA}"
+for modo in "${MODOS[@]}"; do
+  for ((i = 1; i <= REPETICOES; i++)); do
+    medir "${modo}" "${i}"
+  done
+done
+
+echo "modo  mediana_ms_ate_pronto  mediana_ms_primeira_requisicao"
+for modo in "${MODOS[@]}"; do
+  pronto=$(grep "^${modo}," "${SAIDA}" | cut -d, -f3 | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')
+  primeira=$(grep "^${modo}," "${SAIDA}" | cut -d, -f4 | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')
+  echo "${modo}  ${pronto}  ${primeira}"
+done
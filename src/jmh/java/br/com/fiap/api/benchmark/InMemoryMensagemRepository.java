@@ -0,0 +1,59 @@
+package br.com.fiap.api.benchmark;
+
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.repository.MensagemRepository;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Proxy;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementação em memória dos métodos do {@link MensagemRepository} usados pelo serviço,
+ * para medir o custo do serviço sem banco de dados.
+ */
+final class InMemoryMensagemRepository {
+  private InMemoryMensagemRepository() {
+  }
+
+  static MensagemRepository criar() {
+    Map<UUID, Mensagem> mensagens = new ConcurrentHashMap<>();
+    return (MensagemRepository) Proxy.newProxyInstance(
+        MensagemRepository.class.getClassLoader(),
+        new Class<?>[]{MensagemRepository.class},
+        (proxy, method, args) -> switch (method.getName()) {
+          case "save" -> {
+            var mensagem = (Mensagem) args[0];
+            mensagens.put(mensagem.getId(), mensagem);
+            yield mensagem;
+          }
+          case "findById" -> Optional.ofNullable(mensagens.get((UUID) args[0]));
+          case "alterarConteudo" -> {
+            var mensagem = mensagens.get((UUID) args[0]);
+            if (mensagem == null) {
+              yield 0;
+            }
+            mensagem.setConteudo((String) args[1]);
+            yield 1;
+          }
+          case "removerPorId" -> mensagens.remove((UUID) args[0]) == null ? 0 : 1;
+          case "listarMensagens" -> {
+            var pageable = (Pageable) args[0];
+            var conteudo = mensagens.values().stream()
+                .sorted(Comparator.comparing(Mensagem::getDataCriacao))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+            yield new PageImpl<>(conteudo, pageable, mensagens.size());
+          }
+          case "hashCode" -> System.identityHashCode(proxy);
+          case "equals" -> proxy == args[0];
+          case "toString" -> "InMemoryMensagemRepository";
+          default -> throw new UnsupportedOperationException(method.getName());
+        });
+  }
+}
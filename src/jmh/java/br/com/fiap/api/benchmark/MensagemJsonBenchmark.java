@@ -0,0 +1,81 @@
+package br.com.fiap.api.benchmark;
+
+import br.com.fiap.api.api.model.Mensagem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de {@link Mensagem} (incluindo o padrão de data do {@code @JsonFormat}),
+ * leitura do corpo das requisições, renderização de páginas e o parse do id do path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MensagemJsonBenchmark {
+  @Param({"10", "100"})
+  private int tamanhoPagina;
+
+  private ObjectWriter mensagemWriter;
+  private ObjectReader mensagemReader;
+  private ObjectWriter pageWriter;
+  private Mensagem mensagem;
+  private String mensagemJson;
+  private Page<Mensagem> page;
+  private String id;
+
+  @Setup
+  public void setup() throws JsonProcessingException {
+    var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    mensagemWriter = objectMapper.writerFor(Mensagem.class);
+    mensagemReader = objectMapper.readerFor(Mensagem.class);
+    pageWriter = objectMapper.writer();
+
+    mensagem = Mensagem.builder()
+        .id(UUID.randomUUID())
+        .usuario("benchmark")
+        .conteudo("Conteúdo da mensagem")
+        .build();
+    mensagemJson = mensagemWriter.writeValueAsString(mensagem);
+
+    var conteudo = new ArrayList<Mensagem>(tamanhoPagina);
+    for (int i = 0; i < tamanhoPagina; i++) {
+      conteudo.add(mensagem);
+    }
+    page = new PageImpl<>(conteudo, PageRequest.of(0, tamanhoPagina), 10_000);
+    id = mensagem.getId().toString();
+  }
+
+  @Benchmark
+  public String serializarMensagem() throws JsonProcessingException {
+    return mensagemWriter.writeValueAsString(mensagem);
+  }
+
+  @Benchmark
+  public Mensagem desserializarMensagem() throws JsonProcessingException {
+    return mensagemReader.readValue(mensagemJson);
+  }
+
+  @Benchmark
+  public String renderizarPage() throws JsonProcessingException {
+    return pageWriter.writeValueAsString(page);
+  }
+
+  @Benchmark
+  public UUID converterIdDoPath() {
+    return UUID.fromString(id);
+  }
+}
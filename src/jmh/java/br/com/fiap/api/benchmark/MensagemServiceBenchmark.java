@@ -0,0 +1,88 @@
+package br.com.fiap.api.benchmark;
+
+import br.com.fiap.api.api.config.MensagemCacheProperties;
+import br.com.fiap.api.api.config.MensagemLoteProperties;
+import br.com.fiap.api.api.id.UuidV7Generator;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.service.GosteiAcumulador;
+import br.com.fiap.api.api.service.MensagemService;
+import br.com.fiap.api.api.service.MensagemServiceImpl;
+import br.com.fiap.api.api.service.ValidadorCache;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@link MensagemServiceImpl} sem banco de dados e sem os proxies do Spring
+ * (cache e transações), sobre um repositório em memória com {@code quantidade} mensagens.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MensagemServiceBenchmark {
+  @Param({"1000"})
+  private int quantidade;
+
+  private MensagemService mensagemService;
+  private UUID idExistente;
+  private Mensagem mensagemAtualizada;
+
+  @Setup
+  public void setup() {
+    var repository = InMemoryMensagemRepository.criar();
+    mensagemService = new MensagemServiceImpl(
+        repository,
+        new UuidV7Generator(),
+        new MensagemLoteProperties(10_000, 500),
+        Validation.buildDefaultValidatorFactory().getValidator(),
+        new GosteiAcumulador(repository, new ValidadorCache(new ConcurrentMapCacheManager())),
+        (consulta, apos, limite) -> List.of(),
+        evento -> { },
+        new MensagemCacheProperties(10_000, Duration.ofMinutes(10), 0));
+
+    for (int i = 0; i < quantidade; i++) {
+      idExistente = mensagemService.registrarMensagem(novaMensagem()).getId();
+    }
+    mensagemAtualizada = novaMensagem();
+    mensagemAtualizada.setId(idExistente);
+  }
+
+  @Benchmark
+  public Mensagem registrarMensagem() {
+    var mensagem = mensagemService.registrarMensagem(novaMensagem());
+    mensagemService.removerMensagem(mensagem.getId());
+    return mensagem;
+  }
+
+  @Benchmark
+  public Mensagem buscarMensagem() {
+    return mensagemService.buscarMensagem(idExistente);
+  }
+
+  @Benchmark
+  public Mensagem alterarMensagem() {
+    return mensagemService.alterarMensagem(idExistente, mensagemAtualizada);
+  }
+
+  @Benchmark
+  public Page<Mensagem> listarMensagens() {
+    return mensagemService.listarMensagens(PageRequest.of(0, 10));
+  }
+
+  private static Mensagem novaMensagem() {
+    return Mensagem.builder()
+        .usuario("benchmark")
+        .conteudo("Conteúdo da mensagem")
+        .build();
+  }
+}
@@ -2,8 +2,10 @@ package br.com.fiap.api.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class RestApiApplication {
   public static void main(String[] args) {
     SpringApplication.run(RestApiApplication.class, args);
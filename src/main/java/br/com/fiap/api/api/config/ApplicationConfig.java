@@ -1,11 +1,29 @@
 package br.com.fiap.api.api.config;
 
+import br.com.fiap.api.api.id.IdGenerator;
+import br.com.fiap.api.api.id.RandomUuidGenerator;
+import br.com.fiap.api.api.id.UuidV7Generator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.filter.CharacterEncodingFilter;
 
 @Configuration
+// por fora da transação (que fica em LOWEST_PRECEDENCE): os @CacheEvict só rodam depois do
+// commit, e uma leitura concorrente não volta a guardar no cache o valor anterior à escrita
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableScheduling
 public class ApplicationConfig {
+  public static final String CACHE_MENSAGENS = "mensagens";
+  public static final String CACHE_TOTAL_MENSAGENS = "total-mensagens";
+  public static final String CACHE_VALIDADORES = "validadores";
+  public static final String CACHE_VALIDADORES_PAGINA = "validadores-pagina";
+  // regiões do cache de segundo nível do Hibernate (SegundoNivelCacheConfig)
+  public static final String REGIAO_MENSAGEM = "mensagem";
+  public static final String REGIAO_PAGINAS_MENSAGENS = "mensagem-paginas";
 
   @Bean
   public CharacterEncodingFilter characterEncodingFilter() {
@@ -14,4 +32,16 @@ public class ApplicationConfig {
     filter.setForceEncoding(true);
     return filter;
   }
+
+  @Bean
+  @ConditionalOnProperty(name = "mensagem.id.estrategia", havingValue = "v7", matchIfMissing = true)
+  public IdGenerator uuidV7Generator() {
+    return new UuidV7Generator();
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "mensagem.id.estrategia", havingValue = "random")
+  public IdGenerator randomUuidGenerator() {
+    return new RandomUuidGenerator();
+  }
 }
@@ -0,0 +1,39 @@
+package br.com.fiap.api.api.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Execução de treino do arquivo CDS: com {@code -Dspring.context.exit=onRefresh} a aplicação
+ * termina assim que o contexto acaba o refresh, com todas as classes dos beans já carregadas e
+ * antes do {@code ApplicationReadyEvent}, que carrega o índice de busca do banco. É a mesma
+ * propriedade que o Spring Framework 6.1 passou a tratar sozinho. O servidor web e os
+ * {@code SmartLifecycle} já subiram nesse ponto; o particionamento, o único que consulta o banco
+ * ao iniciar, fica desligado no treino.
+ * <p>
+ * O encerramento fecha o contexto com {@link SpringApplication#exit}: o pool de conexões, a
+ * fila de ingestão e os demais {@code SmartLifecycle} param normalmente antes do
+ * {@code System.exit}, e a JVM grava o arquivo de {@code -XX:ArchiveClassesAtExit}. A checagem
+ * fica em tempo de execução porque as condições de bean são fixadas no build AOT.
+ */
+@Component
+public class EncerramentoNoRefresh {
+  public static final String PROPRIEDADE = "spring.context.exit";
+  public static final String NO_REFRESH = "onRefresh";
+
+  private final Environment environment;
+
+  public EncerramentoNoRefresh(Environment environment) {
+    this.environment = environment;
+  }
+
+  @EventListener
+  public void encerrar(ApplicationStartedEvent evento) {
+    if (NO_REFRESH.equalsIgnoreCase(environment.getProperty(PROPRIEDADE))) {
+      System.exit(SpringApplication.exit(evento.getApplicationContext()));
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package br.com.fiap.api.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Cache de segundo nível do Hibernate. {@code tamanhoMaximo} e {@code ttl} valem para cada
+ * região (entidades e páginas); {@code paginasConsulta} é quantas páginas iniciais da
+ * listagem passam pelo cache de consultas.
+ */
+@ConfigurationProperties(prefix = "mensagem.cache")
+public record MensagemCacheProperties(
+    @DefaultValue("10000") long tamanhoMaximo,
+    @DefaultValue("10m") Duration ttl,
+    @DefaultValue("3") int paginasConsulta
+) {
+}
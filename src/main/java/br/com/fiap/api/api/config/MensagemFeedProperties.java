@@ -0,0 +1,15 @@
+package br.com.fiap.api.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "mensagem.feed")
+public record MensagemFeedProperties(
+    @DefaultValue("4096") int capacidade,
+    @DefaultValue("1024") int atrasoMaximo,
+    @DefaultValue("4") int entregadores,
+    @DefaultValue("30m") Duration timeout
+) {
+}
@@ -0,0 +1,20 @@
+package br.com.fiap.api.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Chaves do header Idempotency-Key. {@code ttl} é por quanto tempo uma resposta concluída é
+ * repetida; {@code prazoProcessamento} é por quanto tempo uma chave fica reservada por uma
+ * requisição em andamento, para que uma instância que caiu no meio não a bloqueie até o ttl.
+ */
+@ConfigurationProperties(prefix = "mensagem.idempotencia")
+public record MensagemIdempotenciaProperties(
+    @DefaultValue("memoria") String armazenamento,
+    @DefaultValue("100000") long tamanhoMaximo,
+    @DefaultValue("24h") Duration ttl,
+    @DefaultValue("30s") Duration prazoProcessamento
+) {
+}
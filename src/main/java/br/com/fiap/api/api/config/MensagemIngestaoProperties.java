@@ -0,0 +1,16 @@
+package br.com.fiap.api.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "mensagem.ingestao")
+public record MensagemIngestaoProperties(
+    @DefaultValue("sincrona") String modo,
+    @DefaultValue("10000") int capacidadeFila,
+    @DefaultValue("2") int escritores,
+    @DefaultValue("500") int tamanhoLote,
+    @DefaultValue("30s") Duration prazoEncerramento
+) {
+}
@@ -0,0 +1,26 @@
+package br.com.fiap.api.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Limite de requisições por usuário. Cada entrada de {@code endpoints} (registrar, lote) tem
+ * seu balde: até {@code capacidade} requisições de uma vez, recarregadas a {@code porSegundo}.
+ * Endpoint sem entrada não é limitado. {@code baldesPorFaixa} limita a memória: são no máximo
+ * {@code faixas × baldesPorFaixa} usuários acompanhados ao mesmo tempo.
+ */
+@ConfigurationProperties(prefix = "mensagem.limite")
+public record MensagemLimiteProperties(
+    @DefaultValue("64") int faixas,
+    @DefaultValue("4096") int baldesPorFaixa,
+    Map<String, Limite> endpoints
+) {
+  public MensagemLimiteProperties {
+    endpoints = endpoints == null ? Map.of() : Map.copyOf(endpoints);
+  }
+
+  public record Limite(int capacidade, double porSegundo) {
+  }
+}
@@ -0,0 +1,15 @@
+package br.com.fiap.api.api.config;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+// tamanhoChunk é divisor no flush do inserirEmLote: zero ou negativo impede a subida
+@Validated
+@ConfigurationProperties(prefix = "mensagem.lote")
+public record MensagemLoteProperties(
+    @DefaultValue("10000") @Positive int tamanhoMaximo,
+    @DefaultValue("500") @Positive int tamanhoChunk
+) {
+}
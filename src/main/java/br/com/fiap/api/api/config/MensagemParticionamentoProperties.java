@@ -0,0 +1,17 @@
+package br.com.fiap.api.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Partições mensais da tabela mensagem no PostgreSQL. {@code mesesFuturos} é quantos meses
+ * além do atual ficam com partição criada; {@code retencaoMeses} é quantos meses anteriores ao
+ * atual são mantidos antes de a partição inteira ser removida. A remoção apaga dados, então só
+ * acontece com valor positivo configurado explicitamente; o padrão zero mantém todas.
+ */
+@ConfigurationProperties(prefix = "mensagem.particionamento")
+public record MensagemParticionamentoProperties(
+    @DefaultValue("3") int mesesFuturos,
+    @DefaultValue("0") int retencaoMeses
+) {
+}
@@ -0,0 +1,27 @@
+package br.com.fiap.api.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Réplicas de leitura do banco. As transações readOnly são distribuídas entre as
+ * {@code fontes}; {@code tempoConexao} é quanto se espera por uma conexão da réplica antes de
+ * cair no primário. Com {@code leituraAposEscrita} positiva, o cliente que acabou de escrever
+ * lê do primário durante esse período, sem depender do atraso da replicação.
+ */
+@ConfigurationProperties(prefix = "mensagem.replica")
+public record MensagemReplicaProperties(
+    List<Fonte> fontes,
+    @DefaultValue("1s") Duration tempoConexao,
+    @DefaultValue("0s") Duration leituraAposEscrita
+) {
+  public MensagemReplicaProperties {
+    fontes = fontes == null ? List.of() : List.copyOf(fontes);
+  }
+
+  public record Fonte(String url, String username, String password) {
+  }
+}
@@ -0,0 +1,69 @@
+package br.com.fiap.api.api.config;
+
+import br.com.fiap.api.api.replica.LeituraAposEscritaFilter;
+import br.com.fiap.api.api.replica.RoteadorDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+
+/**
+ * Com {@code mensagem.replica.habilitado=true} o DataSource da aplicação passa a ser o
+ * {@link RoteadorDataSource}: o pool de spring.datasource continua sendo o primário e cada
+ * entrada de {@code mensagem.replica.fontes} ganha um pool somente leitura.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mensagem.replica.habilitado", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primarioDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean
+  public RoteadorDataSource roteadorDataSource(HikariDataSource primarioDataSource,
+                                               MensagemReplicaProperties properties,
+                                               MeterRegistry meterRegistry) {
+    var replicas = new ArrayList<DataSource>();
+    for (int i = 0; i < properties.fontes().size(); i++) {
+      var fonte = properties.fontes().get(i);
+      var replica = DataSourceBuilder.create()
+          .type(HikariDataSource.class)
+          .url(fonte.url())
+          .username(fonte.username())
+          .password(fonte.password())
+          .build();
+      replica.setPoolName("replica-" + i);
+      replica.setReadOnly(true);
+      replica.setConnectionTimeout(properties.tempoConexao().toMillis());
+      // réplica fora do ar não impede a subida; a primeira leitura ou verificação a tira do rodízio
+      replica.setInitializationFailTimeout(-1);
+      replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+      replicas.add(replica);
+    }
+    return new RoteadorDataSource(primarioDataSource, replicas, meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(RoteadorDataSource roteadorDataSource) {
+    return new LazyConnectionDataSourceProxy(roteadorDataSource);
+  }
+
+  @Bean
+  public LeituraAposEscritaFilter leituraAposEscritaFilter(MensagemReplicaProperties properties) {
+    return new LeituraAposEscritaFilter(properties.leituraAposEscrita());
+  }
+}
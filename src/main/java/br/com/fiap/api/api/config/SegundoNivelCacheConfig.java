@@ -0,0 +1,75 @@
+package br.com.fiap.api.api.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import javax.cache.expiry.EternalExpiryPolicy;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_MENSAGEM;
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_PAGINAS_MENSAGENS;
+
+/**
+ * Cache de segundo nível do Hibernate sobre o JCache do Caffeine, local a cada instância.
+ * <p>
+ * As regiões são criadas aqui, com o tamanho e o TTL de {@link MensagemCacheProperties};
+ * com {@code missing_cache_strategy=fail}, uma região não declarada impede a subida em vez
+ * de virar um cache sem limite. A região de timestamps não expira nem descarta entradas:
+ * é por ela que o Hibernate sabe que uma consulta em cache ficou velha depois de uma escrita
+ * na tabela.
+ */
+@Configuration
+public class SegundoNivelCacheConfig {
+  static final String REGIAO_TIMESTAMPS = "default-update-timestamps-region";
+  static final String REGIAO_CONSULTAS = "default-query-results-region";
+
+  @Bean(destroyMethod = "close")
+  public CacheManager segundoNivelCacheManager(MensagemCacheProperties properties) {
+    // o CacheManager padrão do provider é um só na JVM; com um URI próprio, cada contexto (por
+    // exemplo, os contextos de teste mantidos em cache) cria as suas regiões sem conflito
+    var provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    var cacheManager = provider.getCacheManager(
+        URI.create("hibernate-l2-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+    cacheManager.createCache(REGIAO_MENSAGEM, limitada(properties));
+    cacheManager.createCache(REGIAO_PAGINAS_MENSAGENS, limitada(properties));
+    cacheManager.createCache(REGIAO_CONSULTAS, limitada(properties));
+
+    var timestamps = new CaffeineConfiguration<Object, Object>();
+    timestamps.setExpiryPolicyFactory(EternalExpiryPolicy.factoryOf());
+    cacheManager.createCache(REGIAO_TIMESTAMPS, timestamps);
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer segundoNivelCacheCustomizer(CacheManager segundoNivelCacheManager) {
+    return hibernateProperties -> {
+      hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+      hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      hibernateProperties.put(ConfigSettings.CACHE_MANAGER, segundoNivelCacheManager);
+      hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+      // estatísticas por região, publicadas pelo actuator em hibernate.second.level.cache.*
+      hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    };
+  }
+
+  private static CaffeineConfiguration<Object, Object> limitada(MensagemCacheProperties properties) {
+    var configuracao = new CaffeineConfiguration<Object, Object>();
+    configuracao.setMaximumSize(OptionalLong.of(properties.tamanhoMaximo()));
+    configuracao.setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(
+        new Duration(TimeUnit.MILLISECONDS, properties.ttl().toMillis())));
+    return configuracao;
+  }
+}
@@ -1,43 +1,187 @@
 package br.com.fiap.api.api.controller;
 
+import br.com.fiap.api.api.exception.FilaCheiaException;
+import br.com.fiap.api.api.exception.IdInvalidoException;
 import br.com.fiap.api.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.api.limite.LimitadorRequisicoes;
+import br.com.fiap.api.api.model.CampoMensagem;
 import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemCursorPage;
+import br.com.fiap.api.api.model.MensagemSlicePage;
+import br.com.fiap.api.api.model.ResultadoLote;
+import br.com.fiap.api.api.model.Validador;
+import br.com.fiap.api.api.service.IdempotenciaService;
+import br.com.fiap.api.api.service.IngestaoAssincrona;
 import br.com.fiap.api.api.service.MensagemService;
+import br.com.fiap.api.api.service.ValidadorCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/mensagens")
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class MensagemController {
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    // nomes dos endpoints em mensagem.limite.endpoints
+    public static final String ENDPOINT_REGISTRAR = "registrar";
+    public static final String ENDPOINT_LOTE = "lote";
+
     @Autowired
     private final MensagemService mensagemService;
+    @Autowired
+    private final ObjectMapper objectMapper;
+    @Autowired
+    private final ValidadorCache validadorCache;
+    @Autowired
+    private final IdempotenciaService idempotenciaService;
+    @Autowired
+    private final LimitadorRequisicoes limitadorRequisicoes;
+    // presente apenas com mensagem.ingestao.modo=assincrona
+    @Autowired
+    private final Optional<IngestaoAssincrona> ingestaoAssincrona;
 
     @PostMapping(
         consumes = MediaType.APPLICATION_JSON_VALUE,
         produces = MediaType.APPLICATION_JSON_VALUE
     )
-    public ResponseEntity<Mensagem> registrarMensagem(@RequestBody  Mensagem mensagem) {
+    public ResponseEntity<?> registrarMensagem(
+        @RequestBody  Mensagem mensagem,
+        @RequestHeader(name = IdempotenciaService.IDEMPOTENCY_KEY, required = false) String chaveIdempotencia
+    ) {
+        // com a chave, uma repetição devolve a resposta original em vez de cadastrar outra mensagem;
+        // o limite só é cobrado de quem chega a cadastrar, então a repetição nunca recebe 429
+        if (chaveIdempotencia != null) {
+            return idempotenciaService.executar(chaveIdempotencia, mensagem, () -> limitarERegistrar(mensagem));
+        }
+        return limitarERegistrar(mensagem);
+    }
+
+    private ResponseEntity<?> limitarERegistrar(Mensagem mensagem) {
+        var espera = limitadorRequisicoes.tentarConsumir(ENDPOINT_REGISTRAR, mensagem.getUsuario(), 1);
+        if (espera > 0) {
+            return respostaLimiteExcedido(espera);
+        }
+        return registrar(mensagem);
+    }
+
+    private ResponseEntity<?> registrar(Mensagem mensagem) {
+        if (ingestaoAssincrona.isPresent()) {
+            return enfileirarMensagem(mensagem);
+        }
         var mensagemRegistrada = mensagemService.registrarMensagem(mensagem);
         return new ResponseEntity<>(mensagemRegistrada, HttpStatus.CREATED);
     }
 
+    /**
+     * Write-behind: responde 202 com o id já atribuído e grava depois; com a fila cheia,
+     * 429 e Retry-After para o cliente reenviar.
+     */
+    private ResponseEntity<?> enfileirarMensagem(Mensagem mensagem) {
+        try {
+            var mensagemAceita = ingestaoAssincrona.get().enfileirar(mensagem);
+            return new ResponseEntity<>(mensagemAceita, HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (FilaCheiaException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+        }
+    }
+
+    @PostMapping(
+        value = "/lote",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<?> registrarMensagens(@RequestBody List<Mensagem> mensagens) {
+        // cada mensagem consome um token do balde do próprio usuário; se algum balde recusar,
+        // o lote inteiro é recusado sem cobrar dos demais
+        var porUsuario = mensagens.stream()
+            .filter(mensagem -> mensagem != null && mensagem.getUsuario() != null)
+            .collect(Collectors.groupingBy(Mensagem::getUsuario, Collectors.summingInt(mensagem -> 1)));
+        var capacidade = limitadorRequisicoes.capacidade(ENDPOINT_LOTE);
+        if (porUsuario.values().stream().anyMatch(quantidade -> quantidade > capacidade)) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body("Lote excede o limite de " + capacidade + " mensagens por usuário");
+        }
+        var espera = limitadorRequisicoes.tentarConsumir(ENDPOINT_LOTE, porUsuario);
+        if (espera > 0) {
+            return respostaLimiteExcedido(espera);
+        }
+        try {
+            ResultadoLote resultado = mensagemService.registrarMensagens(mensagens);
+            var status = resultado.rejeitadas() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+            return new ResponseEntity<>(resultado, status);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * GET condicional: com If-None-Match ou If-Modified-Since, um validador em cache
+     * responde 304 sem consultar o serviço.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<?> buscarMensagem(@PathVariable String id) {
+    public ResponseEntity<?> buscarMensagem(@PathVariable String id, @RequestHeader HttpHeaders headers) {
         try{
-            var uuid = UUID.fromString(id);
+            var uuid = converterId(id);
+            var validador = validadorCache.buscarMensagem(uuid);
+            if (validador != null && naoModificado(validador, headers)) {
+                return respostaNaoModificada(validador);
+            }
+
+            var geracao = validadorCache.geracao();
             var mensagemEncontrada = mensagemService.buscarMensagem(uuid);
+            validador = validadorCache.registrarMensagem(mensagemEncontrada, geracao);
+            if (naoModificado(validador, headers)) {
+                return respostaNaoModificada(validador);
+            }
+            return comValidador(ResponseEntity.ok(), validador)
+                .body(mensagemEncontrada);
+        } catch (MensagemNotFoundException e) {
+            return new ResponseEntity<>("Id inválido", HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * Sparse fieldset: {@code ?fields=id,usuario} seleciona só essas colunas. A resposta
+     * parcial não tem ETag, porque o validador da mensagem depende de campos que podem
+     * ter ficado de fora.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<?> buscarMensagem(@PathVariable String id, @RequestParam String fields) {
+        try {
+            var uuid = converterId(id);
+            var mensagemEncontrada = mensagemService.buscarMensagem(uuid, CampoMensagem.of(fields));
             return new ResponseEntity<>(mensagemEncontrada, HttpStatus.OK);
         } catch (MensagemNotFoundException e) {
             return new ResponseEntity<>("Id inválido", HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
@@ -48,7 +192,7 @@ public class MensagemController {
     )
     public ResponseEntity<?> alterarMensagem(@PathVariable String id, @RequestBody Mensagem mensagem) {
         try {
-          var uuid = UUID.fromString(id);
+          var uuid = converterId(id);
           var mensagemAtualizada = mensagemService.alterarMensagem(uuid, mensagem);
           return new ResponseEntity<>(mensagemAtualizada, HttpStatus.ACCEPTED);
         } catch (MensagemNotFoundException e) {
@@ -59,7 +203,7 @@ public class MensagemController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> removerMensagem(@PathVariable String id) {
         try {
-            var uuid = UUID.fromString(id);
+            var uuid = converterId(id);
             mensagemService.removerMensagem(uuid);
             return new ResponseEntity<>("Mensagem removida", HttpStatus.OK);
         } catch (MensagemNotFoundException e) {
@@ -67,16 +211,231 @@ public class MensagemController {
         }
     }
 
+    @PostMapping("/{id}/gostei")
+    public ResponseEntity<?> registrarGostei(@PathVariable String id) {
+        var uuid = converterId(id);
+        try {
+            // sem a verificação, ids inexistentes acumulariam contadores em memória até o flush;
+            // a busca passa pelo cache, então o caso comum não vai ao banco
+            mensagemService.buscarMensagem(uuid);
+        } catch (MensagemNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+        mensagemService.registrarGostei(uuid);
+        return new ResponseEntity<>("Gostei registrado", HttpStatus.ACCEPTED);
+    }
+
     @GetMapping(
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<Page<Mensagem>> listarMensagens(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestHeader HttpHeaders headers
     ) {
         var pageable = PageRequest.of(page, size);
+        var validador = validadorCache.buscarPagina(pageable);
+        if (validador != null && naoModificado(validador, headers)) {
+            return respostaNaoModificada(validador);
+        }
+
+        var geracao = validadorCache.geracao();
         var mensagens = mensagemService.listarMensagens(pageable);
+        validador = validadorCache.registrarPagina(pageable, mensagens, geracao);
+        if (naoModificado(validador, headers)) {
+            return respostaNaoModificada(validador);
+        }
+        return comValidador(ResponseEntity.ok(), validador)
+            .body(mensagens);
+    }
+
+    /**
+     * Campos selecionados valem só para a listagem paginada com total exato; a linha do
+     * tempo por usuário tem mapeamento próprio e recusa {@code fields}.
+     */
+    @GetMapping(
+            params = {"fields", "!usuario"},
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<?> listarMensagens(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam String fields,
+            @RequestParam(required = false) String total
+    ) {
+        if (total != null && !total.equals("exato")) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("Parâmetro fields não pode ser combinado com total=" + total);
+        }
+        try {
+            var mensagens = mensagemService.listarMensagens(PageRequest.of(page, size), CampoMensagem.of(fields));
+            return new ResponseEntity<>(mensagens, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
 
-        return new ResponseEntity<>(mensagens, HttpStatus.OK);
+    /**
+     * Listagem sem {@code COUNT(*)}: {@code total=nenhum} devolve apenas {@code hasNext} e
+     * {@code total=aproximado} acrescenta o total mantido em cache. Sem o parâmetro, ou com
+     * {@code total=exato}, vale a listagem paginada acima.
+     */
+    @GetMapping(
+            params = {"total", "total!=exato", "!fields", "!usuario"},
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<?> listarMensagensSemTotal(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam String total
+    ) {
+        if (!total.equals("nenhum") && !total.equals("aproximado")) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("Parâmetro total deve ser exato, nenhum ou aproximado");
+        }
+        var mensagens = mensagemService.listarMensagensSemTotal(PageRequest.of(page, size));
+        var totalAproximado = total.equals("aproximado") ? mensagemService.contarMensagensAproximado() : null;
+        var pagina = new MensagemSlicePage(
+            mensagens.getContent(), mensagens.getNumber(), mensagens.getSize(), mensagens.hasNext(), totalAproximado);
+        return new ResponseEntity<>(pagina, HttpStatus.OK);
+    }
+
+    /**
+     * Linha do tempo de um usuário em ordem de criação, paginada pelo cursor devolvido
+     * em {@code nextCursor}.
+     */
+    @GetMapping(
+            params = "usuario",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<?> listarMensagensPorUsuario(
+            @RequestParam String usuario,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String total
+    ) {
+        if (fields != null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("Parâmetro usuario não pode ser combinado com fields");
+        }
+        // a linha do tempo é paginada por cursor e nunca tem total; só o valor padrão é aceito
+        if (total != null && !total.equals("exato")) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("Parâmetro usuario não pode ser combinado com total=" + total);
+        }
+        try {
+            MensagemCursorPage mensagens = mensagemService.listarMensagensPorUsuario(usuario, cursor, size);
+            return new ResponseEntity<>(mensagens, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping(
+            value = "/cursor",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<?> listarMensagensPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        try {
+            MensagemCursorPage mensagens = mensagemService.listarMensagensPorCursor(cursor, size);
+            return new ResponseEntity<>(mensagens, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Busca textual no conteúdo, da mensagem mais relevante para a menos relevante,
+     * paginada pelo cursor devolvido em {@code nextCursor}.
+     */
+    @GetMapping(
+            value = "/busca",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<?> buscarMensagens(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        try {
+            MensagemCursorPage mensagens = mensagemService.buscarMensagens(q, cursor, size);
+            return new ResponseEntity<>(mensagens, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Exporta as mensagens em JSON delimitado por linha, escrevendo direto na resposta
+     * enquanto o banco entrega os registros.
+     */
+    @GetMapping(
+            value = "/export",
+            produces = APPLICATION_NDJSON_VALUE
+    )
+    public void exportarMensagens(
+            @RequestParam(required = false) String usuario,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        try (var generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            mensagemService.exportarMensagens(usuario, de, ate, mensagem -> {
+                try {
+                    generator.writeObject(mensagem);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @ExceptionHandler(IdInvalidoException.class)
+    public ResponseEntity<String> tratarIdInvalido(IdInvalidoException e, HttpServletRequest request) {
+        // a tag resultado do http.server.requests usa o erro para separar id inválido dos demais 400
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(contexto -> contexto.setError(e));
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    private static ResponseEntity<String> respostaLimiteExcedido(long esperaNanos) {
+        var segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(segundos))
+            .body("Limite de requisições excedido para o usuário");
+    }
+
+    private static boolean naoModificado(Validador validador, HttpHeaders headers) {
+        return validador.naoModificado(headers.getIfNoneMatch(), headers.getIfModifiedSince());
+    }
+
+    private static <T> ResponseEntity<T> respostaNaoModificada(Validador validador) {
+        return comValidador(ResponseEntity.status(HttpStatus.NOT_MODIFIED), validador)
+            .build();
+    }
+
+    // a listagem não tem Last-Modified
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B comValidador(B resposta, Validador validador) {
+        resposta.eTag(validador.etag());
+        if (validador.ultimaAlteracao() != null) {
+            resposta.lastModified(validador.ultimaAlteracao());
+        }
+        return resposta;
+    }
+
+    private UUID converterId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IdInvalidoException("Id inválido");
+        }
     }
 }
@@ -0,0 +1,56 @@
+package br.com.fiap.api.api.controller;
+
+import br.com.fiap.api.api.config.MensagemFeedProperties;
+import br.com.fiap.api.api.feed.FeedMensagens;
+import br.com.fiap.api.api.feed.PoliticaDescarte;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/mensagens/feed")
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class MensagemFeedController {
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    @Autowired
+    private final FeedMensagens feedMensagens;
+    @Autowired
+    private final MensagemFeedProperties feedProperties;
+
+    /**
+     * Abre o feed SSE. Ao reconectar, o navegador reenvia o id do último evento recebido em
+     * Last-Event-ID e a entrega continua dali; {@code descarte} decide o que acontece se o
+     * cliente não acompanhar o ritmo dos eventos.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinar(
+        @RequestHeader(name = LAST_EVENT_ID, required = false) String ultimoEventoId,
+        @RequestParam(defaultValue = "pular") String descarte
+    ) throws IOException {
+        var politica = PoliticaDescarte.of(descarte);
+        var emitter = new SseEmitter(feedProperties.timeout().toMillis());
+        feedMensagens.assinar(emitter, ultimoEventoId, politica);
+        return emitter;
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> tratarDescarteInvalido(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .contentType(MediaType.TEXT_PLAIN)
+            .body(e.getMessage());
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fiap.api.api.controller;
+
+import br.com.fiap.api.api.exception.IdInvalidoException;
+import br.com.fiap.api.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.service.ReactiveMensagemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Mesmas rotas e respostas do {@link MensagemController}, servidas pelo WebFlux.
+ * Ativado pelo profile reactive.
+ */
+@RestController
+@RequestMapping("/mensagens")
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveMensagemController {
+    private final ReactiveMensagemService mensagemService;
+
+    @PostMapping(
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Mensagem>> registrarMensagem(@RequestBody Mensagem mensagem) {
+        return mensagemService.registrarMensagem(mensagem)
+            .map(mensagemRegistrada -> new ResponseEntity<>(mensagemRegistrada, HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> buscarMensagem(@PathVariable String id) {
+        return converterId(id)
+            .flatMap(mensagemService::buscarMensagem)
+            .<ResponseEntity<?>>map(mensagemEncontrada -> new ResponseEntity<>(mensagemEncontrada, HttpStatus.OK))
+            .onErrorResume(MensagemNotFoundException.class,
+                e -> Mono.just(new ResponseEntity<>("Id inválido", HttpStatus.NOT_FOUND)));
+    }
+
+    @PutMapping(
+        value = "/{id}",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<?>> alterarMensagem(@PathVariable String id, @RequestBody Mensagem mensagem) {
+        return converterId(id)
+            .flatMap(uuid -> mensagemService.alterarMensagem(uuid, mensagem))
+            .<ResponseEntity<?>>map(mensagemAtualizada -> new ResponseEntity<>(mensagemAtualizada, HttpStatus.ACCEPTED))
+            .onErrorResume(MensagemNotFoundException.class,
+                e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage())));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> removerMensagem(@PathVariable String id) {
+        return converterId(id)
+            .flatMap(mensagemService::removerMensagem)
+            .<ResponseEntity<?>>map(removida -> new ResponseEntity<>("Mensagem removida", HttpStatus.OK))
+            .onErrorResume(MensagemNotFoundException.class,
+                e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage())));
+    }
+
+    @GetMapping(
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Page<Mensagem>>> listarMensagens(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        var pageable = PageRequest.of(page, size);
+        return mensagemService.listarMensagens(pageable)
+            .map(mensagens -> new ResponseEntity<>(mensagens, HttpStatus.OK));
+    }
+
+    @ExceptionHandler(IdInvalidoException.class)
+    public ResponseEntity<String> tratarIdInvalido(IdInvalidoException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    // o erro segue pelo Mono até o @ExceptionHandler, em vez de escapar como 500
+    private static Mono<UUID> converterId(String id) {
+        return Mono.fromCallable(() -> UUID.fromString(id))
+            .onErrorMap(IllegalArgumentException.class, e -> new IdInvalidoException("Id inválido"));
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.fiap.api.api.event;
+
+import br.com.fiap.api.api.model.Mensagem;
+
+import java.util.UUID;
+
+/**
+ * Publicado pelo {@code MensagemServiceImpl} a cada mensagem criada, alterada ou removida.
+ * Em {@link Tipo#REMOVIDA} só o id é conhecido e {@code mensagem} é nula.
+ */
+public record MensagemEvento(Tipo tipo, UUID id, Mensagem mensagem) {
+  public enum Tipo {
+    CRIADA,
+    ALTERADA,
+    REMOVIDA
+  }
+
+  public static MensagemEvento criada(Mensagem mensagem) {
+    return new MensagemEvento(Tipo.CRIADA, mensagem.getId(), mensagem);
+  }
+
+  public static MensagemEvento alterada(Mensagem mensagem) {
+    return new MensagemEvento(Tipo.ALTERADA, mensagem.getId(), mensagem);
+  }
+
+  public static MensagemEvento removida(UUID id) {
+    return new MensagemEvento(Tipo.REMOVIDA, id, null);
+  }
+}
@@ -0,0 +1,7 @@
+package br.com.fiap.api.api.exception;
+
+public class FilaCheiaException extends RuntimeException {
+  public FilaCheiaException(String filaCheia) {
+    super(filaCheia);
+  }
+}
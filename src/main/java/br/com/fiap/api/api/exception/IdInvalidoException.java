@@ -0,0 +1,7 @@
+package br.com.fiap.api.api.exception;
+
+public class IdInvalidoException extends RuntimeException {
+  public IdInvalidoException(String idInvalido) {
+    super(idInvalido);
+  }
+}
@@ -0,0 +1,62 @@
+package br.com.fiap.api.api.feed;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular de eventos numerados por sequência. Cada evento é gravado uma única vez
+ * e lido por todos os assinantes a partir da própria posição; quando o buffer dá a volta,
+ * o evento mais antigo é sobrescrito.
+ */
+public class AnelEventos<T> {
+  private record Entrada<T>(long sequencia, T evento) {
+  }
+
+  private final AtomicReferenceArray<Entrada<T>> entradas;
+  private final int capacidade;
+  private volatile long ultimaSequencia = -1;
+
+  public AnelEventos(int capacidade) {
+    if (capacidade < 1) {
+      throw new IllegalArgumentException("Capacidade deve ser maior que zero");
+    }
+    this.capacidade = capacidade;
+    this.entradas = new AtomicReferenceArray<>(capacidade);
+  }
+
+  public synchronized long publicar(T evento) {
+    var sequencia = ultimaSequencia + 1;
+    entradas.set(indice(sequencia), new Entrada<>(sequencia, evento));
+    ultimaSequencia = sequencia;
+    return sequencia;
+  }
+
+  /**
+   * @return o evento da sequência, ou {@code null} se ainda não foi publicado ou já foi sobrescrito
+   */
+  public T ler(long sequencia) {
+    if (sequencia < 0 || sequencia > ultimaSequencia) {
+      return null;
+    }
+    var entrada = entradas.get(indice(sequencia));
+    return entrada != null && entrada.sequencia() == sequencia ? entrada.evento() : null;
+  }
+
+  /**
+   * @return a última sequência publicada, ou -1 se nada foi publicado
+   */
+  public long ultimaSequencia() {
+    return ultimaSequencia;
+  }
+
+  public long primeiraDisponivel() {
+    return Math.max(0, ultimaSequencia - capacidade + 1);
+  }
+
+  public int capacidade() {
+    return capacidade;
+  }
+
+  private int indice(long sequencia) {
+    return (int) (sequencia % capacidade);
+  }
+}
@@ -0,0 +1,242 @@
+package br.com.fiap.api.api.feed;
+
+import br.com.fiap.api.api.config.MensagemFeedProperties;
+import br.com.fiap.api.api.event.MensagemEvento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feed SSE das mensagens criadas, alteradas e removidas.
+ * <p>
+ * Os {@link MensagemEvento} confirmados entram uma única vez em um {@link AnelEventos}
+ * compartilhado; quem publica só grava no anel e acorda o despachante, então o custo da
+ * escrita não depende do número de assinantes. Cada assinante guarda apenas a próxima
+ * sequência que deve receber e é atendido por no máximo uma tarefa de entrega por vez:
+ * um cliente lento não acumula memória, só fica para trás no anel. Passando de
+ * {@code atrasoMaximo} eventos, vale a {@link PoliticaDescarte} escolhida por ele.
+ * <p>
+ * O id de cada evento é {@code <inicio>-<sequencia>}, com o instante em que a aplicação
+ * subiu; um Last-Event-ID de outra execução ou já sobrescrito recebe um evento
+ * {@code lacuna} e continua a partir do mais antigo ainda disponível.
+ */
+@Component
+public class FeedMensagens {
+  public static final String GAUGE_ASSINANTES = "mensagem.feed.assinantes";
+  public static final String COUNTER_DESCARTES = "mensagem.feed.descartes";
+  public static final String EVENTO_LACUNA = "lacuna";
+
+  private static final int EVENTOS_POR_ENTREGA = 64;
+
+  private final AnelEventos<MensagemEvento> anel;
+  private final int atrasoMaximo;
+  private final String inicio = Long.toString(System.currentTimeMillis());
+  private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+  private final ExecutorService entregadores;
+  private final MeterRegistry meterRegistry;
+  private volatile boolean ativo = true;
+  private Thread despachante;
+
+  public FeedMensagens(MensagemFeedProperties properties, MeterRegistry meterRegistry) {
+    this.anel = new AnelEventos<>(properties.capacidade());
+    this.atrasoMaximo = Math.min(properties.atrasoMaximo(), properties.capacidade());
+    this.meterRegistry = meterRegistry;
+    var contador = new AtomicInteger();
+    this.entregadores = Executors.newFixedThreadPool(properties.entregadores(), tarefa -> {
+      var thread = new Thread(tarefa, "feed-mensagem-" + contador.getAndIncrement());
+      thread.setDaemon(true);
+      return thread;
+    });
+    Gauge.builder(GAUGE_ASSINANTES, assinantes, Set::size)
+        .description("Conexões SSE abertas no feed de mensagens")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void iniciar() {
+    despachante = new Thread(this::despachar, "feed-mensagem-despachante");
+    despachante.setDaemon(true);
+    despachante.start();
+  }
+
+  @PreDestroy
+  public void encerrar() {
+    ativo = false;
+    LockSupport.unpark(despachante);
+    assinantes.forEach(assinante -> {
+      assinante.encerrar();
+      assinante.emitter.complete();
+    });
+    entregadores.shutdown();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void publicar(MensagemEvento evento) {
+    anel.publicar(evento);
+    LockSupport.unpark(despachante);
+  }
+
+  /**
+   * Registra o emitter como assinante do feed.
+   *
+   * @param ultimoEventoId Last-Event-ID enviado pelo cliente ao reconectar, ou {@code null}
+   */
+  public void assinar(SseEmitter emitter, String ultimoEventoId, PoliticaDescarte politica) throws IOException {
+    var ultima = anel.ultimaSequencia();
+    var proxima = ultima + 1;
+    long descartados = 0;
+    if (ultimoEventoId != null && !ultimoEventoId.isBlank()) {
+      var pedida = sequenciaSeguinte(ultimoEventoId);
+      // reinício, id desconhecido ou já fora do anel/atraso permitido: retoma do mais antigo aceitável
+      var maisAntiga = Math.max(anel.primeiraDisponivel(), ultima - atrasoMaximo + 1);
+      if (pedida < 0 || pedida < maisAntiga) {
+        descartados = pedida < 0 ? -1 : maisAntiga - pedida;
+        proxima = maisAntiga;
+      } else {
+        proxima = Math.min(pedida, ultima + 1);
+      }
+    }
+
+    var assinante = new Assinante(emitter, politica, proxima);
+    if (descartados != 0) {
+      assinante.enviarLacuna(descartados);
+    }
+    emitter.onCompletion(assinante::encerrar);
+    emitter.onTimeout(assinante::encerrar);
+    emitter.onError(erro -> assinante.encerrar());
+    assinantes.add(assinante);
+    assinante.agendar();
+  }
+
+  private void despachar() {
+    var vista = anel.ultimaSequencia();
+    while (ativo) {
+      var atual = anel.ultimaSequencia();
+      if (atual == vista) {
+        LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+        continue;
+      }
+      vista = atual;
+      assinantes.forEach(Assinante::agendar);
+    }
+  }
+
+  private long sequenciaSeguinte(String ultimoEventoId) {
+    var separador = ultimoEventoId.lastIndexOf('-');
+    if (separador < 0 || !ultimoEventoId.substring(0, separador).equals(inicio)) {
+      return -1;
+    }
+    try {
+      return Long.parseLong(ultimoEventoId.substring(separador + 1)) + 1;
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private final class Assinante {
+    private final SseEmitter emitter;
+    private final PoliticaDescarte politica;
+    private final AtomicBoolean agendado = new AtomicBoolean();
+    private volatile long proxima;
+    private volatile boolean aberto = true;
+
+    private Assinante(SseEmitter emitter, PoliticaDescarte politica, long proxima) {
+      this.emitter = emitter;
+      this.politica = politica;
+      this.proxima = proxima;
+    }
+
+    private void agendar() {
+      if (aberto && proxima <= anel.ultimaSequencia() && agendado.compareAndSet(false, true)) {
+        try {
+          entregadores.execute(this::entregar);
+        } catch (RuntimeException e) {
+          // executor encerrado
+          agendado.set(false);
+        }
+      }
+    }
+
+    private void entregar() {
+      try {
+        for (int enviados = 0; aberto && enviados < EVENTOS_POR_ENTREGA; enviados++) {
+          var ultima = anel.ultimaSequencia();
+          if (proxima > ultima) {
+            break;
+          }
+          if (ultima - proxima + 1 > atrasoMaximo || proxima < anel.primeiraDisponivel()) {
+            descartar(ultima);
+            continue;
+          }
+          var evento = anel.ler(proxima);
+          if (evento == null) {
+            // sobrescrito entre a verificação e a leitura
+            continue;
+          }
+          enviar(proxima, evento);
+          proxima++;
+        }
+      } catch (IOException | IllegalStateException e) {
+        // cliente desconectou ou o emitter já foi concluído
+        encerrar();
+      } finally {
+        agendado.set(false);
+      }
+      // eventos publicados durante a entrega, ou o limite por entrega foi atingido
+      agendar();
+    }
+
+    private void descartar(long ultima) throws IOException {
+      Counter.builder(COUNTER_DESCARTES)
+          .description("Assinantes do feed que passaram do atraso máximo")
+          .tag("politica", politica.name().toLowerCase())
+          .register(meterRegistry)
+          .increment();
+      if (politica == PoliticaDescarte.DESCONECTAR) {
+        encerrar();
+        emitter.complete();
+        return;
+      }
+      var novaProxima = ultima - atrasoMaximo + 1;
+      enviarLacuna(novaProxima - proxima);
+      proxima = novaProxima;
+    }
+
+    private void enviar(long sequencia, MensagemEvento evento) throws IOException {
+      Object dados = evento.tipo() == MensagemEvento.Tipo.REMOVIDA ? Map.of("id", evento.id()) : evento.mensagem();
+      emitter.send(SseEmitter.event()
+          .id(inicio + "-" + sequencia)
+          .name(evento.tipo().name().toLowerCase())
+          .data(dados, MediaType.APPLICATION_JSON));
+    }
+
+    private void enviarLacuna(long descartados) throws IOException {
+      // -1: Last-Event-ID de outra execução, não dá para saber quantos eventos se perderam
+      emitter.send(SseEmitter.event()
+          .name(EVENTO_LACUNA)
+          .data(Map.of("descartados", descartados), MediaType.APPLICATION_JSON));
+    }
+
+    private void encerrar() {
+      aberto = false;
+      assinantes.remove(this);
+    }
+  }
+}
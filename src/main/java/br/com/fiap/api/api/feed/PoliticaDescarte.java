@@ -0,0 +1,19 @@
+package br.com.fiap.api.api.feed;
+
+/**
+ * O que fazer com um assinante que ficou mais de {@code atrasoMaximo} eventos para trás.
+ */
+public enum PoliticaDescarte {
+  /** Descarta os eventos mais antigos pendentes e envia um evento {@code lacuna}. */
+  PULAR,
+  /** Encerra a conexão; o cliente reconecta com Last-Event-ID. */
+  DESCONECTAR;
+
+  public static PoliticaDescarte of(String valor) {
+    try {
+      return valueOf(valor.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Política de descarte deve ser pular ou desconectar", e);
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package br.com.fiap.api.api.id;
+
+import java.util.UUID;
+
+public interface IdGenerator {
+  UUID gerarId();
+}
@@ -0,0 +1,13 @@
+package br.com.fiap.api.api.id;
+
+import java.util.UUID;
+
+/**
+ * UUID versão 4, totalmente aleatório. Mantido para quem precisa do comportamento antigo.
+ */
+public class RandomUuidGenerator implements IdGenerator {
+  @Override
+  public UUID gerarId() {
+    return UUID.randomUUID();
+  }
+}
@@ -0,0 +1,50 @@
+package br.com.fiap.api.api.id;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID versão 7 (RFC 9562): 48 bits de timestamp em milissegundos, seguidos de um
+ * contador de 12 bits e 62 bits aleatórios. Ids gerados em sequência são crescentes,
+ * então as inserções caem sempre no fim do índice da chave primária.
+ * <p>
+ * O estado (timestamp + contador) fica em um único {@link AtomicLong}; quando o contador
+ * estoura dentro do mesmo milissegundo ele avança o timestamp lógico, preservando a
+ * monotonicidade mesmo sob muitas threads ou com o relógio voltando no tempo.
+ */
+public class UuidV7Generator implements IdGenerator {
+  private static final int BITS_CONTADOR = 12;
+  private static final long MASCARA_CONTADOR = (1L << BITS_CONTADOR) - 1;
+  private static final long VERSAO = 0x7000L;
+  private static final long VARIANTE = 0x8000_0000_0000_0000L;
+  private static final long MASCARA_ALEATORIO = 0x3FFF_FFFF_FFFF_FFFFL;
+
+  private final Clock clock;
+  private final AtomicLong ultimoEstado = new AtomicLong();
+
+  public UuidV7Generator() {
+    this(Clock.systemUTC());
+  }
+
+  public UuidV7Generator(Clock clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public UUID gerarId() {
+    var estado = proximoEstado();
+    var timestamp = estado >>> BITS_CONTADOR;
+    var contador = estado & MASCARA_CONTADOR;
+
+    var mostSignificantBits = (timestamp << 16) | VERSAO | contador;
+    var leastSignificantBits = VARIANTE | (ThreadLocalRandom.current().nextLong() & MASCARA_ALEATORIO);
+    return new UUID(mostSignificantBits, leastSignificantBits);
+  }
+
+  private long proximoEstado() {
+    var inicioDoMilissegundo = clock.millis() << BITS_CONTADOR;
+    return ultimoEstado.updateAndGet(anterior -> Math.max(inicioDoMilissegundo, anterior + 1));
+  }
+}
@@ -0,0 +1,99 @@
+package br.com.fiap.api.api.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens guardado em um único {@code long}: o instante em que o balde estará
+ * cheio de novo (o "tempo teórico de chegada" do GCRA). Consumir n tokens adianta esse
+ * instante em n intervalos de recarga; se ele ficar mais de {@code capacidade} intervalos
+ * à frente de agora, não há tokens e a diferença é a espera. Como o estado é um só valor,
+ * o consumo é um compareAndSet, sem locks.
+ * <p>
+ * Um balde com o instante já no passado está cheio e é igual a um balde novo, então pode
+ * ser descartado sem perder informação. O descarte ({@link #descartar}) é um compareAndSet no
+ * mesmo valor: um consumo que chegue depois dele recebe {@link #DESCARTADO} e precisa de outro
+ * balde, em vez de gastar tokens em um balde que já saiu do mapa.
+ */
+public class BaldeTokens {
+  /**
+   * Retorno de {@link #tentarConsumir} quando o balde já foi descartado.
+   */
+  public static final long DESCARTADO = -1;
+
+  // valor de cheioEm de um balde descartado
+  private static final long FORA_DE_USO = Long.MIN_VALUE;
+
+  private final int capacidade;
+  private final long intervaloNanos;
+  private final long limiteNanos;
+  private final AtomicLong cheioEm;
+
+  public BaldeTokens(int capacidade, double porSegundo, long agora) {
+    if (capacidade < 1 || porSegundo <= 0) {
+      throw new IllegalArgumentException("Capacidade e recarga do balde devem ser maiores que zero");
+    }
+    this.capacidade = capacidade;
+    this.intervaloNanos = Math.max(1, (long) (1_000_000_000L / porSegundo));
+    this.limiteNanos = intervaloNanos * capacidade;
+    this.cheioEm = new AtomicLong(agora);
+  }
+
+  /**
+   * @param tokens tokens a consumir, no máximo a capacidade: um custo maior nunca caberia no
+   *               balde, e cobrar só a capacidade deixaria a requisição furar o limite
+   * @throws IllegalArgumentException se {@code tokens} passa da capacidade
+   * @return 0 se os tokens foram consumidos, quantos nanossegundos esperar por eles, ou
+   * {@link #DESCARTADO}
+   */
+  public long tentarConsumir(int tokens, long agora) {
+    if (tokens > capacidade) {
+      throw new IllegalArgumentException("Custo de " + tokens + " tokens acima da capacidade do balde");
+    }
+    var custo = intervaloNanos * tokens;
+    while (true) {
+      var atual = cheioEm.get();
+      if (atual == FORA_DE_USO) {
+        return DESCARTADO;
+      }
+      var proximo = Math.max(atual, agora) + custo;
+      var excesso = proximo - agora - limiteNanos;
+      if (excesso > 0) {
+        return excesso;
+      }
+      if (cheioEm.compareAndSet(atual, proximo)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Desfaz um {@link #tentarConsumir} bem-sucedido cuja requisição acabou recusada por outro
+   * motivo. Um instante que volte para o passado só significa balde cheio.
+   */
+  public void devolver(int tokens) {
+    var custo = intervaloNanos * tokens;
+    cheioEm.getAndUpdate(atual -> atual == FORA_DE_USO ? atual : atual - custo);
+  }
+
+  /**
+   * Tira de uso um balde cheio. Só acontece se nenhum consumo chegou antes; depois dele todo
+   * consumo recebe {@link #DESCARTADO}.
+   *
+   * @return se o balde estava cheio e foi descartado
+   */
+  public boolean descartar(long agora) {
+    while (true) {
+      var atual = cheioEm.get();
+      if (atual == FORA_DE_USO || atual > agora) {
+        return false;
+      }
+      if (cheioEm.compareAndSet(atual, FORA_DE_USO)) {
+        return true;
+      }
+    }
+  }
+
+  public boolean cheio(long agora) {
+    return cheioEm.get() <= agora;
+  }
+}
@@ -0,0 +1,174 @@
+package br.com.fiap.api.api.limite;
+
+import br.com.fiap.api.api.config.MensagemLimiteProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Limite por usuário e endpoint com um {@link BaldeTokens} para cada par. Os baldes ficam
+ * em faixas escolhidas pelo hash da chave; cada faixa guarda no máximo
+ * {@code baldesPorFaixa} baldes e é limpa separadamente, sem varrer as outras.
+ * <p>
+ * Baldes cheios são descartados periodicamente e, com a faixa lotada, antes de criar um
+ * novo. Se mesmo assim não houver espaço, os usuários excedentes daquela faixa dividem um
+ * balde de transbordo por endpoint: a memória continua limitada e quem gira nomes de
+ * usuário para escapar do limite acaba limitado em conjunto.
+ */
+@Component
+public class LimitadorRequisicoes {
+  public static final String COUNTER_REJEICOES = "mensagem.limite.rejeicoes";
+  public static final String GAUGE_BALDES = "mensagem.limite.baldes";
+
+  private final Map<String, MensagemLimiteProperties.Limite> limites;
+  private final int baldesPorFaixa;
+  private final Faixa[] faixas;
+  private final MeterRegistry meterRegistry;
+
+  public LimitadorRequisicoes(MensagemLimiteProperties properties, MeterRegistry meterRegistry) {
+    this.limites = properties.endpoints();
+    this.baldesPorFaixa = properties.baldesPorFaixa();
+    // potência de dois para escolher a faixa com uma máscara
+    var quantidade = properties.faixas() <= 1 ? 1 : Integer.highestOneBit(properties.faixas() - 1) << 1;
+    this.faixas = new Faixa[quantidade];
+    Arrays.setAll(faixas, i -> new Faixa());
+    this.meterRegistry = meterRegistry;
+    Gauge.builder(GAUGE_BALDES, this, LimitadorRequisicoes::baldes)
+        .description("Baldes de limite de requisições em memória")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Maior custo em tokens que uma requisição ao endpoint pode ter; acima dele a requisição
+   * nunca seria liberada e deve ser recusada antes de {@link #tentarConsumir}.
+   */
+  public int capacidade(String endpoint) {
+    var limite = limites.get(endpoint);
+    return limite == null ? Integer.MAX_VALUE : limite.capacidade();
+  }
+
+  /**
+   * @return 0 se a requisição está liberada, ou quantos nanossegundos o usuário deve esperar
+   */
+  public long tentarConsumir(String endpoint, String usuario, int tokens) {
+    var limite = limites.get(endpoint);
+    if (limite == null || usuario == null) {
+      return 0;
+    }
+    var agora = System.nanoTime();
+    var espera = consumir(endpoint, usuario, limite, tokens, agora).espera();
+    if (espera > 0) {
+      registrarRejeicao(endpoint);
+    }
+    return espera;
+  }
+
+  /**
+   * Requisição que cobra tokens de vários usuários de uma vez: ou todos os baldes têm tokens e
+   * todos são consumidos, ou nenhum é. Os consumos que já tinham passado quando algum balde
+   * recusa são devolvidos, para que ninguém pague por uma requisição que não foi aceita.
+   *
+   * @return 0 se a requisição está liberada, ou a maior espera entre os usuários recusados
+   */
+  public long tentarConsumir(String endpoint, Map<String, Integer> tokensPorUsuario) {
+    var limite = limites.get(endpoint);
+    if (limite == null) {
+      return 0;
+    }
+    var agora = System.nanoTime();
+    var consumidos = new ArrayList<Map.Entry<BaldeTokens, Integer>>();
+    var espera = 0L;
+    for (var usuario : tokensPorUsuario.entrySet()) {
+      var consumo = consumir(endpoint, usuario.getKey(), limite, usuario.getValue(), agora);
+      if (consumo.espera() > 0) {
+        espera = Math.max(espera, consumo.espera());
+      } else {
+        consumidos.add(Map.entry(consumo.balde(), usuario.getValue()));
+      }
+    }
+    if (espera > 0) {
+      consumidos.forEach(consumo -> consumo.getKey().devolver(consumo.getValue()));
+      registrarRejeicao(endpoint);
+    }
+    return espera;
+  }
+
+  // a limpeza pode descartar o balde entre a busca e o consumo; nesse caso ele sai do mapa
+  // e o consumo vai para um balde novo
+  private Consumo consumir(String endpoint, String usuario, MensagemLimiteProperties.Limite limite,
+                           int tokens, long agora) {
+    var chave = endpoint + ':' + usuario;
+    var faixa = faixas[espalhar(chave.hashCode()) & (faixas.length - 1)];
+    while (true) {
+      var balde = faixa.baldes.get(chave);
+      if (balde == null) {
+        balde = faixa.obter(chave, endpoint, limite, agora);
+      }
+      var espera = balde.tentarConsumir(tokens, agora);
+      if (espera != BaldeTokens.DESCARTADO) {
+        return new Consumo(balde, espera);
+      }
+      faixa.baldes.remove(chave, balde);
+    }
+  }
+
+  private record Consumo(BaldeTokens balde, long espera) {
+  }
+
+  private void registrarRejeicao(String endpoint) {
+    Counter.builder(COUNTER_REJEICOES)
+        .description("Requisições recusadas pelo limite por usuário")
+        .tag("endpoint", endpoint)
+        .register(meterRegistry)
+        .increment();
+  }
+
+  @Scheduled(fixedDelayString = "${mensagem.limite.intervalo-limpeza:30000}")
+  public void removerOciosos() {
+    var agora = System.nanoTime();
+    for (var faixa : faixas) {
+      faixa.removerCheios(agora);
+    }
+  }
+
+  private int baldes() {
+    return Arrays.stream(faixas).mapToInt(faixa -> faixa.baldes.size()).sum();
+  }
+
+  private static int espalhar(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private final class Faixa {
+    private final ConcurrentHashMap<String, BaldeTokens> baldes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, BaldeTokens> transbordo = new ConcurrentHashMap<>();
+
+    private BaldeTokens obter(String chave, String endpoint, MensagemLimiteProperties.Limite limite, long agora) {
+      if (baldes.size() >= baldesPorFaixa) {
+        removerCheios(agora);
+        if (baldes.size() >= baldesPorFaixa) {
+          return transbordo.computeIfAbsent(endpoint,
+              nome -> new BaldeTokens(limite.capacidade(), limite.porSegundo(), agora));
+        }
+      }
+      return baldes.computeIfAbsent(chave, nome -> new BaldeTokens(limite.capacidade(), limite.porSegundo(), agora));
+    }
+
+    // um balde cheio é igual a um novo, então removê-lo não devolve nem tira tokens de ninguém;
+    // o descarte no próprio balde impede que um consumo concorrente se perca nele
+    private void removerCheios(long agora) {
+      baldes.forEach((chave, balde) -> {
+        if (balde.descartar(agora)) {
+          baldes.remove(chave, balde);
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.api.api.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Acrescenta a tag {@code resultado} ao {@code http.server.requests}, com os mesmos valores
+ * usados no timer do serviço, para comparar a latência da camada HTTP com a do serviço.
+ * Os {@code @ExceptionHandler} que respondem 400 registram a exceção no contexto da observação,
+ * que é o que separa {@code id_invalido} de {@code requisicao_invalida}.
+ */
+@Component
+public class MensagemServerRequestObservationConvention extends DefaultServerRequestObservationConvention {
+
+  @Override
+  public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+    var status = context.getResponse() != null ? context.getResponse().getStatus() : 500;
+    return super.getLowCardinalityKeyValues(context)
+        .and(KeyValue.of("resultado", Resultado.of(status, context.getError()).tag()));
+  }
+}
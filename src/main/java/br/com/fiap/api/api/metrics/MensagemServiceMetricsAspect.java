@@ -0,0 +1,44 @@
+package br.com.fiap.api.api.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra o timer {@code mensagem.servico} para cada operação do MensagemService,
+ * com as tags {@code operacao} e {@code resultado}. Fica por fora do cache e da transação,
+ * então mede o que o controller realmente espera.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class MensagemServiceMetricsAspect {
+  public static final String TIMER_SERVICO = "mensagem.servico";
+
+  private final MeterRegistry meterRegistry;
+
+  @Around("execution(* br.com.fiap.api.api.service.MensagemService.*(..))")
+  public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+    var sample = Timer.start(meterRegistry);
+    var resultado = Resultado.SUCESSO;
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable e) {
+      resultado = Resultado.of(e);
+      throw e;
+    } finally {
+      sample.stop(Timer.builder(TIMER_SERVICO)
+          .description("Tempo das operações do MensagemService")
+          .tag("operacao", joinPoint.getSignature().getName())
+          .tag("resultado", resultado.tag())
+          .register(meterRegistry));
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package br.com.fiap.api.api.metrics;
+
+import br.com.fiap.api.api.exception.IdInvalidoException;
+import br.com.fiap.api.api.exception.MensagemNotFoundException;
+
+public enum Resultado {
+  SUCESSO("sucesso"),
+  NAO_ENCONTRADA("nao_encontrada"),
+  ID_INVALIDO("id_invalido"),
+  REQUISICAO_INVALIDA("requisicao_invalida"),
+  ERRO("erro");
+
+  private final String tag;
+
+  Resultado(String tag) {
+    this.tag = tag;
+  }
+
+  public String tag() {
+    return tag;
+  }
+
+  /**
+   * Resultado de uma resposta HTTP. Só o erro tratado distingue um id inválido dos demais 400
+   * (parâmetros, corpo, cursor).
+   */
+  public static Resultado of(int status, Throwable erro) {
+    if (status == 404) {
+      return NAO_ENCONTRADA;
+    }
+    if (status == 400) {
+      return erro instanceof IdInvalidoException ? ID_INVALIDO : REQUISICAO_INVALIDA;
+    }
+    return status < 400 ? SUCESSO : ERRO;
+  }
+
+  /**
+   * Resultado de uma operação do serviço a partir da exceção lançada por ela.
+   */
+  public static Resultado of(Throwable erro) {
+    if (erro instanceof MensagemNotFoundException) {
+      return NAO_ENCONTRADA;
+    }
+    if (erro instanceof IdInvalidoException) {
+      return ID_INVALIDO;
+    }
+    if (erro instanceof IllegalArgumentException) {
+      return REQUISICAO_INVALIDA;
+    }
+    return ERRO;
+  }
+}
@@ -0,0 +1,44 @@
+package br.com.fiap.api.api.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de leitura na busca textual: a última mensagem entregue, identificada pelo par
+ * (relevancia, id) que define a ordenação dos resultados.
+ */
+public record BuscaCursor(float relevancia, UUID id) {
+  private static final String SEPARADOR = "|";
+
+  public static BuscaCursor of(MensagemRelevante resultado) {
+    return new BuscaCursor(resultado.relevancia(), resultado.mensagem().getId());
+  }
+
+  public String encode() {
+    // Float.toString preserva o valor exato, então a comparação no banco não perde precisão
+    var valor = Float.toString(relevancia) + SEPARADOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static BuscaCursor decode(String cursor) {
+    String valor;
+    try {
+      valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cursor inválido", e);
+    }
+    var separador = valor.indexOf(SEPARADOR);
+    if (separador < 0) {
+      throw new IllegalArgumentException("Cursor inválido");
+    }
+    try {
+      return new BuscaCursor(
+          Float.parseFloat(valor.substring(0, separador)),
+          UUID.fromString(valor.substring(separador + 1)));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cursor inválido", e);
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package br.com.fiap.api.api.model;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Campos que podem ser pedidos em {@code ?fields=}. O nome é o do atributo em
+ * {@link Mensagem}, usado tanto no JSON quanto no SELECT da projeção.
+ */
+public enum CampoMensagem {
+  ID("id"),
+  USUARIO("usuario"),
+  CONTEUDO("conteudo"),
+  DATA_CRIACAO("dataCriacao"),
+  GOSTEI("gostei"),
+  VERSAO("versao"),
+  DATA_ALTERACAO("dataAlteracao");
+
+  private final String nome;
+
+  CampoMensagem(String nome) {
+    this.nome = nome;
+  }
+
+  public String nome() {
+    return nome;
+  }
+
+  /**
+   * @param fields lista separada por vírgula, por exemplo {@code id,usuario}
+   */
+  public static Set<CampoMensagem> of(String fields) {
+    var campos = EnumSet.noneOf(CampoMensagem.class);
+    for (var nome : fields.split(",")) {
+      var campo = nome.trim();
+      if (campo.isEmpty()) {
+        continue;
+      }
+      campos.add(Arrays.stream(values())
+          .filter(valor -> valor.nome.equals(campo))
+          .findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("Campo desconhecido: " + campo)));
+    }
+    if (campos.isEmpty()) {
+      throw new IllegalArgumentException("Informe ao menos um campo em fields");
+    }
+    return campos;
+  }
+}
@@ -0,0 +1,19 @@
+package br.com.fiap.api.api.model;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ItemLote(int indice, UUID id, StatusItemLote status, List<String> erros) {
+  public enum StatusItemLote {
+    REGISTRADA,
+    REJEITADA
+  }
+
+  public static ItemLote registrada(int indice, UUID id) {
+    return new ItemLote(indice, id, StatusItemLote.REGISTRADA, List.of());
+  }
+
+  public static ItemLote rejeitada(int indice, List<String> erros) {
+    return new ItemLote(indice, null, StatusItemLote.REJEITADA, erros);
+  }
+}
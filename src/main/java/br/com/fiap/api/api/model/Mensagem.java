@@ -1,23 +1,35 @@
 package br.com.fiap.api.api.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_MENSAGEM;
+
 @Builder
 @Entity
-@Table(name = "mensagem")
+@Table(name = "mensagem", indexes = {
+    @Index(name = "idx_mensagem_data_criacao_id", columnList = "dataCriacao, id"),
+    // filtro, ordenação e posição do cursor da listagem por usuário saem do mesmo índice
+    @Index(name = "idx_mensagem_usuario_data_criacao_id", columnList = "usuario, dataCriacao, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = REGIAO_MENSAGEM)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,6 +47,11 @@ public class Mensagem {
   private final LocalDateTime dataCriacao = LocalDateTime.now();
   @Builder.Default
   private final int gostei = 0;
+  // incrementada a cada alteração de conteúdo ou de gostei; compõe o ETag da mensagem
+  @Builder.Default
+  private final long versao = 0;
+  @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSS")
+  private LocalDateTime dataAlteracao;
 
 
 
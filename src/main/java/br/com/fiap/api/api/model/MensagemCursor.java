@@ -0,0 +1,45 @@
+package br.com.fiap.api.api.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de leitura na listagem por cursor: a última mensagem entregue ao cliente,
+ * identificada pelo par (dataCriacao, id) que também define a ordenação.
+ */
+public record MensagemCursor(LocalDateTime dataCriacao, UUID id) {
+  private static final String SEPARADOR = "|";
+
+  public static MensagemCursor of(Mensagem mensagem) {
+    return new MensagemCursor(mensagem.getDataCriacao(), mensagem.getId());
+  }
+
+  public String encode() {
+    var valor = dataCriacao + SEPARADOR + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static MensagemCursor decode(String cursor) {
+    String valor;
+    try {
+      valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cursor inválido", e);
+    }
+    var separador = valor.indexOf(SEPARADOR);
+    if (separador < 0) {
+      throw new IllegalArgumentException("Cursor inválido");
+    }
+    try {
+      return new MensagemCursor(
+          LocalDateTime.parse(valor.substring(0, separador)),
+          UUID.fromString(valor.substring(separador + 1)));
+    } catch (DateTimeParseException | IllegalArgumentException e) {
+      throw new IllegalArgumentException("Cursor inválido", e);
+    }
+  }
+}
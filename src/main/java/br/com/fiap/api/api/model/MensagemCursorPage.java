@@ -0,0 +1,6 @@
+package br.com.fiap.api.api.model;
+
+import java.util.List;
+
+public record MensagemCursorPage(List<Mensagem> content, int size, boolean hasNext, String nextCursor) {
+}
@@ -0,0 +1,34 @@
+package br.com.fiap.api.api.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Projeção de {@link Mensagem} com apenas os campos pedidos em {@code ?fields=}; os demais
+ * ficam nulos e não aparecem no JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record MensagemParcial(
+    UUID id,
+    String usuario,
+    String conteudo,
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSS") LocalDateTime dataCriacao,
+    Integer gostei,
+    Long versao,
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss.SSSS") LocalDateTime dataAlteracao
+) {
+  public static MensagemParcial of(Map<CampoMensagem, Object> valores) {
+    return new MensagemParcial(
+        (UUID) valores.get(CampoMensagem.ID),
+        (String) valores.get(CampoMensagem.USUARIO),
+        (String) valores.get(CampoMensagem.CONTEUDO),
+        (LocalDateTime) valores.get(CampoMensagem.DATA_CRIACAO),
+        (Integer) valores.get(CampoMensagem.GOSTEI),
+        (Long) valores.get(CampoMensagem.VERSAO),
+        (LocalDateTime) valores.get(CampoMensagem.DATA_ALTERACAO));
+  }
+}
@@ -0,0 +1,7 @@
+package br.com.fiap.api.api.model;
+
+/**
+ * Mensagem encontrada pela busca textual com a relevância calculada pelo índice.
+ */
+public record MensagemRelevante(Mensagem mensagem, float relevancia) {
+}
@@ -0,0 +1,10 @@
+package br.com.fiap.api.api.model;
+
+import java.util.List;
+
+/**
+ * Página da listagem sem {@code COUNT(*)}. {@code totalAproximado} só é preenchido quando o
+ * cliente pede o total aproximado e pode estar defasado em até o TTL do cache.
+ */
+public record MensagemSlicePage(List<Mensagem> content, int number, int size, boolean hasNext, Long totalAproximado) {
+}
@@ -0,0 +1,22 @@
+package br.com.fiap.api.api.model;
+
+import java.time.Instant;
+
+/**
+ * Resposta guardada para uma Idempotency-Key. Enquanto a primeira requisição está em
+ * andamento, {@code status} e {@code corpo} são nulos. {@code impressao} identifica a
+ * mensagem enviada com a chave, para recusar a mesma chave com outro conteúdo.
+ */
+public record RegistroIdempotencia(String chave, String impressao, Integer status, String corpo, Instant expiraEm) {
+  public static RegistroIdempotencia emAndamento(String chave, String impressao, Instant expiraEm) {
+    return new RegistroIdempotencia(chave, impressao, null, null, expiraEm);
+  }
+
+  public RegistroIdempotencia concluido(int status, String corpo, Instant expiraEm) {
+    return new RegistroIdempotencia(chave, impressao, status, corpo, expiraEm);
+  }
+
+  public boolean emAndamento() {
+    return status == null;
+  }
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.api.api.model;
+
+import java.util.List;
+
+public record ResultadoLote(int total, int registradas, int rejeitadas, List<ItemLote> itens) {
+  public static ResultadoLote of(List<ItemLote> itens) {
+    var registradas = (int) itens.stream()
+        .filter(item -> item.status() == ItemLote.StatusItemLote.REGISTRADA)
+        .count();
+    return new ResultadoLote(itens.size(), registradas, itens.size() - registradas, itens);
+  }
+}
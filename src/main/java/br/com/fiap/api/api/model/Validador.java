@@ -0,0 +1,64 @@
+package br.com.fiap.api.api.model;
+
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * ETag forte e Last-Modified de uma representação, usados no GET condicional. O
+ * Last-Modified é opcional e vem sempre das datas gravadas na mensagem.
+ */
+public record Validador(String etag, Instant ultimaAlteracao) {
+  public static Validador of(Mensagem mensagem) {
+    var ultimaAlteracao = mensagem.getDataAlteracao() != null
+        ? mensagem.getDataAlteracao()
+        : mensagem.getDataCriacao();
+    return new Validador(
+        "\"" + mensagem.getId() + "-" + mensagem.getVersao() + "\"",
+        instante(ultimaAlteracao));
+  }
+
+  /**
+   * O ETag da página resume posição, total e a versão de cada mensagem. A página não tem
+   * Last-Modified: remoções não deixam rastro nas mensagens restantes, e a maior data do
+   * conteúdo poderia voltar no tempo depois de uma remoção.
+   */
+  public static Validador of(Page<Mensagem> pagina) {
+    var conteudo = new StringBuilder()
+        .append(pagina.getNumber()).append('|')
+        .append(pagina.getSize()).append('|')
+        .append(pagina.getTotalElements());
+    for (var mensagem : pagina.getContent()) {
+      conteudo.append('|').append(mensagem.getId()).append(':').append(mensagem.getVersao());
+    }
+    var hash = DigestUtils.md5DigestAsHex(conteudo.toString().getBytes(StandardCharsets.UTF_8));
+    return new Validador("\"" + hash + "\"", null);
+  }
+
+  /**
+   * Avalia If-None-Match e, na sua ausência, If-Modified-Since (RFC 9110, seção 13.2.2).
+   *
+   * @param ifNoneMatch ETags enviados pelo cliente
+   * @param ifModifiedSince data em milissegundos, ou -1 quando o cabeçalho não foi enviado
+   */
+  public boolean naoModificado(List<String> ifNoneMatch, long ifModifiedSince) {
+    if (!ifNoneMatch.isEmpty()) {
+      // GET usa a comparação fraca: W/"x" equivale a "x"
+      return ifNoneMatch.stream()
+          .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+          .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+    // Last-Modified trafega com precisão de segundos; sem ele, If-Modified-Since é ignorado
+    return ifModifiedSince >= 0 && ultimaAlteracao != null
+        && ultimaAlteracao.getEpochSecond() <= ifModifiedSince / 1000;
+  }
+
+  private static Instant instante(LocalDateTime dataHora) {
+    return dataHora.atZone(ZoneId.systemDefault()).toInstant();
+  }
+}
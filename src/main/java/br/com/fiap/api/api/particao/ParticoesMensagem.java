@@ -0,0 +1,221 @@
+package br.com.fiap.api.api.particao;
+
+import br.com.fiap.api.api.config.MensagemParticionamentoProperties;
+import br.com.fiap.api.api.model.Mensagem;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_PAGINAS_MENSAGENS;
+
+/**
+ * Mantém as partições mensais da tabela mensagem (schema-postgresql.sql), particionada por
+ * faixa de data_criacao. Na subida e depois diariamente cria a partição do mês atual e as de
+ * {@code mesesFuturos} meses seguintes, para que os INSERTs nunca caiam na partição padrão,
+ * e remove com um único DROP TABLE as partições inteiramente anteriores à retenção, em vez de
+ * apagar as mensagens linha a linha.
+ * <p>
+ * O DROP não passa pelo Hibernate, então depois de remover alguma partição o cache de segundo
+ * nível de {@link Mensagem}, as páginas em cache e os caches do Spring são esvaziados.
+ * <p>
+ * Linhas na partição padrão nunca expiram e impedem a criação da partição do mês delas; a cada
+ * manutenção elas são contadas, publicadas em {@value #GAUGE_PADRAO} e registradas como erro.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mensagem.particionamento.habilitado", havingValue = "true")
+@DependsOnDatabaseInitialization
+public class ParticoesMensagem implements SmartLifecycle {
+  public static final String PREFIXO = "mensagem_p";
+  public static final String PADRAO = "mensagem_padrao";
+  public static final String GAUGE_PADRAO = "mensagem.particionamento.padrao";
+
+  private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyyMM");
+  private static final Pattern NOME = Pattern.compile(PREFIXO + "\\d{6}");
+  private static final String LISTAR = "SELECT filha.relname FROM pg_inherits h "
+      + "JOIN pg_class filha ON filha.oid = h.inhrelid "
+      + "JOIN pg_class pai ON pai.oid = h.inhparent "
+      + "WHERE pai.relname = 'mensagem'";
+  private static final String PARTICIONADA = "SELECT COUNT(*) FROM pg_partitioned_table pt "
+      + "JOIN pg_class c ON c.oid = pt.partrelid "
+      + "WHERE c.relname = 'mensagem' AND c.relnamespace = to_regnamespace(current_schema())";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final MensagemParticionamentoProperties properties;
+  private final EntityManagerFactory entityManagerFactory;
+  private final CacheManager cacheManager;
+  private final Clock clock;
+  private final AtomicLong linhasPadrao = new AtomicLong();
+  private volatile boolean executando;
+
+  @Autowired
+  public ParticoesMensagem(JdbcTemplate jdbcTemplate,
+                           MensagemParticionamentoProperties properties,
+                           EntityManagerFactory entityManagerFactory,
+                           CacheManager cacheManager,
+                           MeterRegistry meterRegistry) {
+    this(jdbcTemplate, properties, entityManagerFactory, cacheManager, meterRegistry,
+        Clock.systemDefaultZone());
+  }
+
+  public ParticoesMensagem(JdbcTemplate jdbcTemplate,
+                           MensagemParticionamentoProperties properties,
+                           EntityManagerFactory entityManagerFactory,
+                           CacheManager cacheManager,
+                           MeterRegistry meterRegistry,
+                           Clock clock) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.properties = properties;
+    this.entityManagerFactory = entityManagerFactory;
+    this.cacheManager = cacheManager;
+    this.clock = clock;
+    Gauge.builder(GAUGE_PADRAO, linhasPadrao, AtomicLong::get)
+        .description("Mensagens na partição padrão, fora das partições mensais")
+        .register(meterRegistry);
+  }
+
+  public static String nome(YearMonth mes) {
+    return PREFIXO + mes.format(SUFIXO);
+  }
+
+  /**
+   * Roda no start do contexto, antes de o servidor web aceitar requisições, e não na criação
+   * do bean: assim um contexto encerrado no refresh (treino do arquivo CDS) não precisa do banco.
+   */
+  @Override
+  public void start() {
+    verificarParticionamento();
+    manter();
+    executando = true;
+  }
+
+  @Override
+  public void stop() {
+    executando = false;
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executando;
+  }
+
+  @Override
+  public int getPhase() {
+    // o servidor web sobe na fase Integer.MAX_VALUE - 1
+    return 0;
+  }
+
+  /**
+   * O {@code CREATE TABLE IF NOT EXISTS} de schema-postgresql.sql não faz nada quando já existe
+   * uma tabela mensagem comum, criada antes do particionamento; sem esta verificação a aplicação
+   * subiria sem partições e sem avisar.
+   *
+   * @throws IllegalStateException se a tabela mensagem não for particionada
+   */
+  public void verificarParticionamento() {
+    var particionada = jdbcTemplate.queryForObject(PARTICIONADA, Integer.class);
+    if (particionada == null || particionada == 0) {
+      throw new IllegalStateException("A tabela mensagem não é particionada: migre-a para a "
+          + "definição de schema-postgresql.sql (ver README, Partições por data de criação) "
+          + "ou desligue mensagem.particionamento.habilitado");
+    }
+  }
+
+  @Scheduled(cron = "${mensagem.particionamento.cron:0 0 3 * * *}")
+  public void manter() {
+    criarParticoesFuturas();
+    removerParticoesExpiradas();
+    verificarParticaoPadrao();
+  }
+
+  /**
+   * Cria, se ainda não existirem, as partições do mês atual e dos {@code mesesFuturos}
+   * seguintes. Uma falha (por exemplo, linhas do mês já gravadas na partição padrão) é
+   * registrada e não impede a criação das demais.
+   */
+  public void criarParticoesFuturas() {
+    var atual = YearMonth.now(clock);
+    for (int i = 0; i <= properties.mesesFuturos(); i++) {
+      var mes = atual.plusMonths(i);
+      try {
+        jdbcTemplate.execute(String.format(
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF mensagem FOR VALUES FROM ('%s') TO ('%s')",
+            nome(mes), mes.atDay(1), mes.plusMonths(1).atDay(1)));
+      } catch (DataAccessException e) {
+        log.error("Não foi possível criar a partição {}: {}", nome(mes), e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Remove as partições cujo mês inteiro é anterior a {@code retencaoMeses} meses antes do
+   * atual: com retenção de 12 meses, em outubro de 2026 sai a partição de setembro de 2025.
+   * A partição padrão nunca é removida.
+   *
+   * @return nomes das partições removidas
+   */
+  public List<String> removerParticoesExpiradas() {
+    if (properties.retencaoMeses() <= 0) {
+      return List.of();
+    }
+    var limite = YearMonth.now(clock).minusMonths(properties.retencaoMeses());
+    var removidas = new ArrayList<String>();
+    for (var particao : jdbcTemplate.queryForList(LISTAR, String.class)) {
+      if (NOME.matcher(particao).matches()
+          && YearMonth.parse(particao.substring(PREFIXO.length()), SUFIXO).isBefore(limite)) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + particao);
+        removidas.add(particao);
+      }
+    }
+    if (!removidas.isEmpty()) {
+      invalidarCaches();
+    }
+    return removidas;
+  }
+
+  /**
+   * Conta as linhas da partição padrão, que deveria ficar vazia. Linhas ali ficam fora da
+   * retenção e fazem o CREATE da partição do mês delas falhar até serem movidas.
+   *
+   * @return quantidade de linhas na partição padrão
+   */
+  public long verificarParticaoPadrao() {
+    var linhas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + PADRAO, Long.class);
+    linhasPadrao.set(linhas == null ? 0 : linhas);
+    if (linhasPadrao.get() > 0) {
+      log.error("A partição {} tem {} mensagens fora das partições mensais: elas não são removidas "
+          + "pela retenção e impedem a criação da partição do mês delas", PADRAO, linhasPadrao.get());
+    }
+    return linhasPadrao.get();
+  }
+
+  private void invalidarCaches() {
+    var cache = entityManagerFactory.getCache();
+    cache.evict(Mensagem.class);
+    cache.unwrap(Cache.class).evictQueryRegion(REGIAO_PAGINAS_MENSAGENS);
+    cacheManager.getCacheNames().stream()
+        .map(cacheManager::getCache)
+        .filter(Objects::nonNull)
+        .forEach(org.springframework.cache.Cache::clear);
+  }
+}
@@ -0,0 +1,66 @@
+package br.com.fiap.api.api.replica;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Leitura das próprias escritas com réplicas atrasadas. Toda requisição de escrita devolve o
+ * cookie {@link #COOKIE} válido pela janela configurada; enquanto o cliente o enviar, as
+ * transações readOnly da requisição usam o primário ({@link #ativa()}), e não uma réplica que
+ * talvez ainda não tenha recebido a escrita. O cookie vale em qualquer instância, sem estado
+ * compartilhado entre elas.
+ */
+public class LeituraAposEscritaFilter extends OncePerRequestFilter {
+  public static final String COOKIE = "leitura-primario";
+
+  private static final Set<String> METODOS_LEITURA = Set.of("GET", "HEAD", "OPTIONS");
+  private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+  private final Duration janela;
+
+  public LeituraAposEscritaFilter(Duration janela) {
+    this.janela = janela;
+  }
+
+  /**
+   * Indica se a requisição em andamento nesta thread deve ler do primário.
+   */
+  public static boolean ativa() {
+    return Boolean.TRUE.equals(PRIMARIO.get());
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return janela.isZero() || janela.isNegative();
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if (!METODOS_LEITURA.contains(request.getMethod())) {
+      // antes da cadeia: depois dela a resposta pode já ter sido enviada
+      var cookie = new Cookie(COOKIE, "1");
+      cookie.setPath("/");
+      cookie.setHttpOnly(true);
+      cookie.setMaxAge((int) Math.max(1, (janela.toMillis() + 999) / 1000));
+      response.addCookie(cookie);
+    }
+    if (WebUtils.getCookie(request, COOKIE) != null) {
+      PRIMARIO.set(Boolean.TRUE);
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      PRIMARIO.remove();
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package br.com.fiap.api.api.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * Entrega conexões do primário ou de uma réplica conforme a transação em andamento.
+ * <p>
+ * Transações readOnly vão para as réplicas em rodízio, a menos que a requisição esteja na
+ * janela de {@link LeituraAposEscritaFilter}; o restante (escritas, chamadas fora de transação,
+ * inicialização do schema) vai para o primário. A decisão depende do flag readOnly da
+ * transação, que só é conhecido depois do begin, então este roteador deve ficar atrás de um
+ * {@code LazyConnectionDataSourceProxy}, que só pede a conexão no primeiro comando.
+ * <p>
+ * Uma réplica que falha ao entregar a conexão sai do rodízio e a leitura cai na próxima
+ * réplica ou no primário; {@link #verificarReplicas()} a devolve quando volta a responder.
+ * <p>
+ * Leituras cujo resultado vai para um cache compartilhado (o {@code @Cacheable} e o cache de
+ * segundo nível) rodam em {@link #noPrimario}: a escrita esvazia o cache, e uma réplica
+ * atrasada o encheria de novo com o valor antigo, servido a todos até expirar.
+ */
+@Slf4j
+public class RoteadorDataSource extends AbstractDataSource implements DisposableBean {
+  public static final String COUNTER_CONEXOES = "mensagem.replica.conexoes";
+  public static final String GAUGE_DISPONIVEIS = "mensagem.replica.disponiveis";
+
+  private static final int TIMEOUT_VALIDACAO_SEGUNDOS = 2;
+  private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+  private final DataSource primario;
+  private final List<DataSource> replicas;
+  // 1 = réplica no rodízio
+  private final AtomicIntegerArray disponiveis;
+  private final AtomicInteger proxima = new AtomicInteger();
+  private final Counter conexoesPrimario;
+  private final Counter conexoesReplica;
+
+  public RoteadorDataSource(DataSource primario, List<DataSource> replicas, MeterRegistry meterRegistry) {
+    this.primario = primario;
+    this.replicas = List.copyOf(replicas);
+    this.disponiveis = new AtomicIntegerArray(this.replicas.size());
+    for (int i = 0; i < this.replicas.size(); i++) {
+      disponiveis.set(i, 1);
+    }
+    this.conexoesPrimario = Counter.builder(COUNTER_CONEXOES)
+        .description("Conexões entregues pelo roteador de leitura")
+        .tag("destino", "primario")
+        .register(meterRegistry);
+    this.conexoesReplica = Counter.builder(COUNTER_CONEXOES)
+        .description("Conexões entregues pelo roteador de leitura")
+        .tag("destino", "replica")
+        .register(meterRegistry);
+    Gauge.builder(GAUGE_DISPONIVEIS, this, RoteadorDataSource::replicasDisponiveis)
+        .description("Réplicas de leitura no rodízio")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Executa a leitura no primário mesmo dentro de uma transação readOnly. Precisa ser chamado
+   * antes do primeiro comando da transação, que é quando a conexão é escolhida.
+   */
+  public static <T> T noPrimario(Supplier<T> leitura) {
+    if (Boolean.TRUE.equals(PRIMARIO.get())) {
+      return leitura.get();
+    }
+    PRIMARIO.set(Boolean.TRUE);
+    try {
+      return leitura.get();
+    } finally {
+      PRIMARIO.remove();
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (leituraEmReplica()) {
+      var conexao = conectarReplica();
+      if (conexao != null) {
+        conexoesReplica.increment();
+        return conexao;
+      }
+    }
+    conexoesPrimario.increment();
+    return primario.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("As credenciais vêm da configuração de cada banco");
+  }
+
+  /**
+   * Tenta uma conexão em cada réplica: as que respondem voltam ao rodízio e as que falham saem.
+   */
+  @Scheduled(fixedDelayString = "${mensagem.replica.intervalo-verificacao:5000}")
+  public void verificarReplicas() {
+    for (int i = 0; i < replicas.size(); i++) {
+      boolean valida;
+      try (var conexao = replicas.get(i).getConnection()) {
+        valida = conexao.isValid(TIMEOUT_VALIDACAO_SEGUNDOS);
+      } catch (SQLException e) {
+        valida = false;
+      }
+      if (disponiveis.getAndSet(i, valida ? 1 : 0) != (valida ? 1 : 0)) {
+        log.error("Réplica de leitura {} {}", i, valida ? "voltou ao rodízio" : "fora do rodízio");
+      }
+    }
+  }
+
+  public int replicasDisponiveis() {
+    int total = 0;
+    for (int i = 0; i < disponiveis.length(); i++) {
+      total += disponiveis.get(i);
+    }
+    return total;
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    for (var replica : replicas) {
+      if (replica instanceof AutoCloseable fechavel) {
+        fechavel.close();
+      }
+    }
+  }
+
+  private boolean leituraEmReplica() {
+    return !replicas.isEmpty()
+        && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && !LeituraAposEscritaFilter.ativa()
+        && !Boolean.TRUE.equals(PRIMARIO.get());
+  }
+
+  private Connection conectarReplica() {
+    int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+    for (int i = 0; i < replicas.size(); i++) {
+      int indice = (inicio + i) % replicas.size();
+      if (disponiveis.get(indice) == 0) {
+        continue;
+      }
+      try {
+        return replicas.get(indice).getConnection();
+      } catch (SQLException e) {
+        disponiveis.set(indice, 0);
+        log.error("Réplica de leitura {} fora do rodízio: {}", indice, e.getMessage());
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,26 @@
+package br.com.fiap.api.api.repository;
+
+import br.com.fiap.api.api.model.RegistroIdempotencia;
+
+import java.util.Optional;
+
+/**
+ * Armazena as Idempotency-Key e as respostas já dadas. A implementação é escolhida por
+ * {@code mensagem.idempotencia.armazenamento}.
+ */
+public interface IdempotenciaRepository {
+  /**
+   * Reserva a chave de forma atômica: entre requisições concorrentes com a mesma chave,
+   * só uma recebe vazio e segue com o registro.
+   *
+   * @return o registro existente e não expirado da chave, ou vazio se a reserva foi feita
+   */
+  Optional<RegistroIdempotencia> reservar(RegistroIdempotencia reserva);
+
+  void concluir(RegistroIdempotencia registro);
+
+  /**
+   * Desfaz a reserva de uma requisição que falhou, para que o cliente possa tentar de novo.
+   */
+  void liberar(RegistroIdempotencia reserva);
+}
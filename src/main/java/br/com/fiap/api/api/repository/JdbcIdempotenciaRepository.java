@@ -0,0 +1,77 @@
+package br.com.fiap.api.api.repository;
+
+import br.com.fiap.api.api.model.RegistroIdempotencia;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Chaves na tabela {@code idempotencia} (schema-*.sql), compartilhadas entre as instâncias.
+ * A chave primária faz a reserva atômica: das requisições concorrentes, só um INSERT passa e
+ * as demais leem o registro de quem venceu. Linhas expiradas são ignoradas na reserva e
+ * apagadas periodicamente, então a tabela fica limitada às chaves dentro do ttl.
+ */
+@Repository
+@ConditionalOnProperty(name = "mensagem.idempotencia.armazenamento", havingValue = "banco")
+@RequiredArgsConstructor
+public class JdbcIdempotenciaRepository implements IdempotenciaRepository {
+  private static final int TENTATIVAS = 3;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public Optional<RegistroIdempotencia> reservar(RegistroIdempotencia reserva) {
+    for (int tentativa = 0; tentativa < TENTATIVAS; tentativa++) {
+      jdbcTemplate.update("DELETE FROM idempotencia WHERE chave = ? AND expira_em < ?",
+          reserva.chave(), Timestamp.from(Instant.now()));
+      try {
+        jdbcTemplate.update("INSERT INTO idempotencia (chave, impressao, expira_em) VALUES (?, ?, ?)",
+            reserva.chave(), reserva.impressao(), Timestamp.from(reserva.expiraEm()));
+        return Optional.empty();
+      } catch (DuplicateKeyException e) {
+        var existente = jdbcTemplate.query(
+            "SELECT chave, impressao, status, corpo, expira_em FROM idempotencia WHERE chave = ?",
+            JdbcIdempotenciaRepository::mapear, reserva.chave());
+        // vazio: o registro foi liberado ou expirou entre o INSERT e o SELECT
+        if (!existente.isEmpty()) {
+          return Optional.of(existente.get(0));
+        }
+      }
+    }
+    throw new IllegalStateException("Não foi possível reservar a Idempotency-Key " + reserva.chave());
+  }
+
+  @Override
+  public void concluir(RegistroIdempotencia registro) {
+    jdbcTemplate.update("UPDATE idempotencia SET status = ?, corpo = ?, expira_em = ? WHERE chave = ?",
+        registro.status(), registro.corpo(), Timestamp.from(registro.expiraEm()), registro.chave());
+  }
+
+  @Override
+  public void liberar(RegistroIdempotencia reserva) {
+    jdbcTemplate.update("DELETE FROM idempotencia WHERE chave = ? AND status IS NULL", reserva.chave());
+  }
+
+  @Scheduled(fixedDelayString = "${mensagem.idempotencia.intervalo-limpeza:60000}")
+  public void removerExpirados() {
+    jdbcTemplate.update("DELETE FROM idempotencia WHERE expira_em < ?", Timestamp.from(Instant.now()));
+  }
+
+  private static RegistroIdempotencia mapear(ResultSet rs, int linha) throws SQLException {
+    return new RegistroIdempotencia(
+        rs.getString("chave"),
+        rs.getString("impressao"),
+        rs.getObject("status", Integer.class),
+        rs.getString("corpo"),
+        rs.getTimestamp("expira_em").toInstant());
+  }
+}
@@ -0,0 +1,65 @@
+package br.com.fiap.api.api.repository;
+
+import br.com.fiap.api.api.config.MensagemIdempotenciaProperties;
+import br.com.fiap.api.api.model.RegistroIdempotencia;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Chaves em um cache Caffeine local, limitado a {@code tamanhoMaximo} entradas e expirando
+ * cada uma no próprio {@code expiraEm}. Vale só dentro da instância: com várias réplicas
+ * atrás de um balanceador sem afinidade, use {@code armazenamento: banco}.
+ */
+@Repository
+@ConditionalOnProperty(name = "mensagem.idempotencia.armazenamento", havingValue = "memoria", matchIfMissing = true)
+public class MemoriaIdempotenciaRepository implements IdempotenciaRepository {
+  private final Cache<String, RegistroIdempotencia> registros;
+
+  public MemoriaIdempotenciaRepository(MensagemIdempotenciaProperties properties) {
+    this.registros = Caffeine.newBuilder()
+        .maximumSize(properties.tamanhoMaximo())
+        .expireAfter(new Expiry<String, RegistroIdempotencia>() {
+          @Override
+          public long expireAfterCreate(String chave, RegistroIdempotencia registro, long agora) {
+            return restante(registro);
+          }
+
+          @Override
+          public long expireAfterUpdate(String chave, RegistroIdempotencia registro, long agora, long atual) {
+            return restante(registro);
+          }
+
+          @Override
+          public long expireAfterRead(String chave, RegistroIdempotencia registro, long agora, long atual) {
+            return atual;
+          }
+        })
+        .build();
+  }
+
+  @Override
+  public Optional<RegistroIdempotencia> reservar(RegistroIdempotencia reserva) {
+    return Optional.ofNullable(registros.asMap().putIfAbsent(reserva.chave(), reserva));
+  }
+
+  @Override
+  public void concluir(RegistroIdempotencia registro) {
+    registros.put(registro.chave(), registro);
+  }
+
+  @Override
+  public void liberar(RegistroIdempotencia reserva) {
+    registros.asMap().remove(reserva.chave(), reserva);
+  }
+
+  private static long restante(RegistroIdempotencia registro) {
+    return Math.max(0, Duration.between(Instant.now(), registro.expiraEm()).toNanos());
+  }
+}
@@ -0,0 +1,170 @@
+package br.com.fiap.api.api.repository;
+
+import br.com.fiap.api.api.event.MensagemEvento;
+import br.com.fiap.api.api.model.BuscaCursor;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemRelevante;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Índice invertido em memória para bancos sem busca textual (H2 no profile test).
+ * Cada termo aponta para as mensagens que o contêm e quantas vezes; a relevância é a soma
+ * de tf × idf dos termos da consulta, e todos os termos precisam aparecer na mensagem.
+ * <p>
+ * O índice é carregado do banco quando a aplicação sobe e acompanha os
+ * {@link MensagemEvento} depois que a transação que os publicou é confirmada. Não há
+ * stemming nem stopwords como no {@code to_tsvector('portuguese')}: termos são apenas
+ * normalizados para minúsculas e sem acentos.
+ */
+@Repository
+@ConditionalOnProperty(name = "mensagem.busca.estrategia", havingValue = "memoria")
+public class MemoriaMensagemBuscaRepository implements MensagemBuscaRepository {
+  private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Pattern ACENTOS = Pattern.compile("\\p{M}");
+  private static final Comparator<Map.Entry<UUID, Float>> ORDEM =
+      Map.Entry.<UUID, Float>comparingByValue(Comparator.reverseOrder())
+          .thenComparing(Map.Entry.<UUID, Float>comparingByKey());
+
+  private final MensagemRepository mensagemRepository;
+  private final Map<String, Map<UUID, Integer>> indice = new HashMap<>();
+  private final Map<UUID, List<String>> termosPorMensagem = new HashMap<>();
+
+  public MemoriaMensagemBuscaRepository(MensagemRepository mensagemRepository) {
+    this.mensagemRepository = mensagemRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void carregar() {
+    mensagemRepository.findAll().forEach(this::indexar);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void atualizar(MensagemEvento evento) {
+    switch (evento.tipo()) {
+      case CRIADA, ALTERADA -> indexar(evento.mensagem());
+      case REMOVIDA -> remover(evento.id());
+    }
+  }
+
+  @Override
+  public List<MensagemRelevante> buscar(String consulta, BuscaCursor apos, int limite) {
+    var termos = termos(consulta).stream().distinct().toList();
+    if (termos.isEmpty()) {
+      return List.of();
+    }
+
+    List<Map.Entry<UUID, Float>> pontuados;
+    synchronized (this) {
+      pontuados = pontuar(termos);
+    }
+
+    var ranking = pontuados.stream()
+        .filter(pontuado -> apos == null || depoisDe(pontuado, apos))
+        .sorted(ORDEM)
+        .limit(limite)
+        .toList();
+
+    // o conteúdo vem do banco, que é a fonte da verdade; removidas em paralelo ficam de fora
+    var mensagens = mensagemRepository.findAllById(ranking.stream().map(Map.Entry::getKey).toList())
+        .stream()
+        .collect(Collectors.toMap(Mensagem::getId, Function.identity()));
+    return ranking.stream()
+        .filter(pontuado -> mensagens.containsKey(pontuado.getKey()))
+        .map(pontuado -> new MensagemRelevante(mensagens.get(pontuado.getKey()), pontuado.getValue()))
+        .toList();
+  }
+
+  private synchronized void indexar(Mensagem mensagem) {
+    removerTermos(mensagem.getId());
+    var termos = termos(mensagem.getConteudo());
+    for (var termo : termos) {
+      indice.computeIfAbsent(termo, chave -> new HashMap<>()).merge(mensagem.getId(), 1, Integer::sum);
+    }
+    termosPorMensagem.put(mensagem.getId(), termos);
+  }
+
+  private synchronized void remover(UUID id) {
+    removerTermos(id);
+    termosPorMensagem.remove(id);
+  }
+
+  private void removerTermos(UUID id) {
+    var termos = termosPorMensagem.get(id);
+    if (termos == null) {
+      return;
+    }
+    for (var termo : termos) {
+      var mensagens = indice.get(termo);
+      if (mensagens != null) {
+        mensagens.remove(id);
+        if (mensagens.isEmpty()) {
+          indice.remove(termo);
+        }
+      }
+    }
+  }
+
+  private List<Map.Entry<UUID, Float>> pontuar(List<String> termos) {
+    var postings = new ArrayList<Map<UUID, Integer>>(termos.size());
+    for (var termo : termos) {
+      var mensagens = indice.get(termo);
+      if (mensagens == null) {
+        return List.of();
+      }
+      postings.add(mensagens);
+    }
+    // percorre a lista mais curta e confere as demais
+    postings.sort(Comparator.comparingInt(Map::size));
+
+    double total = termosPorMensagem.size();
+    var pontuados = new ArrayList<Map.Entry<UUID, Float>>();
+    for (var id : postings.get(0).keySet()) {
+      double relevancia = 0;
+      boolean contemTodos = true;
+      for (var mensagens : postings) {
+        var frequencia = mensagens.get(id);
+        if (frequencia == null) {
+          contemTodos = false;
+          break;
+        }
+        relevancia += frequencia * Math.log(1 + total / mensagens.size());
+      }
+      if (contemTodos) {
+        pontuados.add(Map.entry(id, (float) relevancia));
+      }
+    }
+    return pontuados;
+  }
+
+  private static boolean depoisDe(Map.Entry<UUID, Float> pontuado, BuscaCursor apos) {
+    var relevancia = pontuado.getValue();
+    return relevancia < apos.relevancia()
+        || (relevancia == apos.relevancia() && pontuado.getKey().compareTo(apos.id()) > 0);
+  }
+
+  private static List<String> termos(String texto) {
+    if (texto == null) {
+      return List.of();
+    }
+    var semAcentos = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+    return Arrays.stream(SEPARADORES.split(semAcentos.toLowerCase()))
+        .filter(termo -> !termo.isBlank())
+        .toList();
+  }
+}
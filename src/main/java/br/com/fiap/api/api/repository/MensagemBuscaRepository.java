@@ -0,0 +1,17 @@
+package br.com.fiap.api.api.repository;
+
+import br.com.fiap.api.api.model.BuscaCursor;
+import br.com.fiap.api.api.model.MensagemRelevante;
+
+import java.util.List;
+
+/**
+ * Busca textual sobre o conteúdo das mensagens, ordenada por relevância decrescente e id.
+ * A implementação é escolhida por {@code mensagem.busca.estrategia}.
+ */
+public interface MensagemBuscaRepository {
+  /**
+   * @param apos última posição entregue ao cliente, ou {@code null} na primeira página
+   */
+  List<MensagemRelevante> buscar(String consulta, BuscaCursor apos, int limite);
+}
@@ -0,0 +1,92 @@
+package br.com.fiap.api.api.repository;
+
+import br.com.fiap.api.api.model.Mensagem;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Acesso não bloqueante à tabela mensagem via R2DBC, usado pelo profile reactive.
+ * As consultas são as mesmas do {@link MensagemRepository}, escritas em SQL.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class MensagemReactiveRepository {
+  private static final String COLUNAS_INSERCAO = "id, usuario, conteudo, data_criacao, gostei, versao";
+  private static final String COLUNAS = COLUNAS_INSERCAO + ", data_alteracao";
+
+  private final DatabaseClient databaseClient;
+
+  public Mono<Mensagem> inserir(Mensagem mensagem) {
+    return databaseClient.sql("INSERT INTO mensagem (" + COLUNAS_INSERCAO + ") "
+            + "VALUES (:id, :usuario, :conteudo, :dataCriacao, :gostei, :versao)")
+        .bind("id", mensagem.getId())
+        .bind("usuario", mensagem.getUsuario())
+        .bind("conteudo", mensagem.getConteudo())
+        .bind("dataCriacao", mensagem.getDataCriacao())
+        .bind("gostei", mensagem.getGostei())
+        .bind("versao", mensagem.getVersao())
+        .fetch()
+        .rowsUpdated()
+        .thenReturn(mensagem);
+  }
+
+  public Mono<Mensagem> buscarPorId(UUID id) {
+    return databaseClient.sql("SELECT " + COLUNAS + " FROM mensagem WHERE id = :id")
+        .bind("id", id)
+        .map(MensagemReactiveRepository::mapear)
+        .one();
+  }
+
+  public Mono<Long> alterarConteudo(UUID id, String conteudo) {
+    return databaseClient.sql("UPDATE mensagem SET conteudo = :conteudo, versao = versao + 1, "
+            + "data_alteracao = CURRENT_TIMESTAMP WHERE id = :id")
+        .bind("conteudo", conteudo)
+        .bind("id", id)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  public Mono<Long> removerPorId(UUID id) {
+    return databaseClient.sql("DELETE FROM mensagem WHERE id = :id")
+        .bind("id", id)
+        .fetch()
+        .rowsUpdated();
+  }
+
+  public Flux<Mensagem> listarMensagens(long offset, int limite) {
+    return databaseClient.sql("SELECT " + COLUNAS + " FROM mensagem "
+            + "ORDER BY data_criacao LIMIT :limite OFFSET :offset")
+        .bind("limite", limite)
+        .bind("offset", offset)
+        .map(MensagemReactiveRepository::mapear)
+        .all();
+  }
+
+  public Mono<Long> contarMensagens() {
+    return databaseClient.sql("SELECT COUNT(*) FROM mensagem")
+        .map((row, metadata) -> row.get(0, Long.class))
+        .one();
+  }
+
+  private static Mensagem mapear(Row row, RowMetadata metadata) {
+    return Mensagem.builder()
+        .id(row.get("id", UUID.class))
+        .usuario(row.get("usuario", String.class))
+        .conteudo(row.get("conteudo", String.class))
+        .dataCriacao(row.get("data_criacao", LocalDateTime.class))
+        .gostei(row.get("gostei", Integer.class))
+        .versao(row.get("versao", Long.class))
+        .dataAlteracao(row.get("data_alteracao", LocalDateTime.class))
+        .build();
+  }
+}
@@ -1,16 +1,91 @@
 package br.com.fiap.api.api.repository;
 
 import br.com.fiap.api.api.model.Mensagem;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_PAGINAS_MENSAGENS;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface MensagemRepository extends JpaRepository<Mensagem, UUID> {
-  @Query("SELECT m FROM Mensagem m ORDER BY m.dataCriacao")
+public interface MensagemRepository extends JpaRepository<Mensagem, UUID>, MensagemRepositoryCustom {
+  // Projeção pelo construtor: as listagens só serializam o resultado, então as instâncias
+  // não entram no contexto de persistência nem ganham snapshot para dirty checking
+  String PROJECAO = "SELECT new br.com.fiap.api.api.model.Mensagem(m.id, m.usuario, m.conteudo, "
+      + "m.dataCriacao, m.gostei, m.versao, m.dataAlteracao) ";
+
+  @Query(value = PROJECAO + "FROM Mensagem m ORDER BY m.dataCriacao",
+      countQuery = "SELECT COUNT(m) FROM Mensagem m")
   Page<Mensagem> listarMensagens(Pageable pageable);
+
+  // Mesma listagem pelo cache de consultas do Hibernate: cada página (e o COUNT) fica em
+  // REGIAO_PAGINAS_MENSAGENS até expirar ou até qualquer escrita na tabela mensagem
+  @QueryHints({
+      @QueryHint(name = HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HINT_CACHE_REGION, value = REGIAO_PAGINAS_MENSAGENS)
+  })
+  @Query(value = PROJECAO + "FROM Mensagem m ORDER BY m.dataCriacao",
+      countQuery = "SELECT COUNT(m) FROM Mensagem m")
+  Page<Mensagem> listarMensagensEmCache(Pageable pageable);
+
+  // Slice: busca size + 1 linhas para calcular hasNext, sem o COUNT(*) do Page
+  @Query(PROJECAO + "FROM Mensagem m ORDER BY m.dataCriacao")
+  Slice<Mensagem> listarMensagensSemTotal(Pageable pageable);
+
+  @Query(PROJECAO + "FROM Mensagem m ORDER BY m.dataCriacao, m.id")
+  List<Mensagem> listarMensagensPorCursor(Pageable pageable);
+
+  // Keyset: continua a partir da última (dataCriacao, id) lida, sem OFFSET nem COUNT.
+  // O limite inferior isolado em dataCriacao >= :dataCriacao permite ao PostgreSQL descartar
+  // as partições mensais anteriores ao cursor (o OR sozinho impede a poda)
+  @Query(PROJECAO + "FROM Mensagem m "
+      + "WHERE m.dataCriacao >= :dataCriacao "
+      + "AND (m.dataCriacao > :dataCriacao OR m.id > :id) "
+      + "ORDER BY m.dataCriacao, m.id")
+  List<Mensagem> listarMensagensPorCursor(
+      @Param("dataCriacao") LocalDateTime dataCriacao,
+      @Param("id") UUID id,
+      Pageable pageable);
+
+  // Percorrem idx_mensagem_usuario_data_criacao_id já na ordem pedida, sem ordenar em memória.
+  // O usuario no ORDER BY não muda o resultado, mas deixa a ordenação idêntica à do índice.
+  @Query(PROJECAO + "FROM Mensagem m WHERE m.usuario = :usuario ORDER BY m.usuario, m.dataCriacao, m.id")
+  List<Mensagem> listarMensagensPorUsuario(@Param("usuario") String usuario, Pageable pageable);
+
+  @Query(PROJECAO + "FROM Mensagem m "
+      + "WHERE m.usuario = :usuario "
+      + "AND m.dataCriacao >= :dataCriacao "
+      + "AND (m.dataCriacao > :dataCriacao OR m.id > :id) "
+      + "ORDER BY m.usuario, m.dataCriacao, m.id")
+  List<Mensagem> listarMensagensPorUsuario(
+      @Param("usuario") String usuario,
+      @Param("dataCriacao") LocalDateTime dataCriacao,
+      @Param("id") UUID id,
+      Pageable pageable);
+
+  // Com a projeção, a memória fica constante durante toda a exportação
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query(PROJECAO + "FROM Mensagem m "
+      + "WHERE (:usuario IS NULL OR m.usuario = :usuario) "
+      + "AND (:de IS NULL OR m.dataCriacao >= :de) "
+      + "AND (:ate IS NULL OR m.dataCriacao < :ate) "
+      + "ORDER BY m.dataCriacao, m.id")
+  Stream<Mensagem> exportarMensagens(
+      @Param("usuario") String usuario,
+      @Param("de") LocalDateTime de,
+      @Param("ate") LocalDateTime ate);
 }
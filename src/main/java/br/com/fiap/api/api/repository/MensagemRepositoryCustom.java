@@ -0,0 +1,28 @@
+package br.com.fiap.api.api.repository;
+
+import br.com.fiap.api.api.model.CampoMensagem;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemParcial;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface MensagemRepositoryCustom {
+  void inserirEmLote(List<Mensagem> mensagens, int tamanhoChunk);
+
+  void incrementarGostei(Map<UUID, Long> incrementos);
+
+  // Retornam a quantidade de linhas afetadas: zero indica que a mensagem não existe
+  int alterarConteudo(UUID id, String conteudo);
+
+  int removerPorId(UUID id);
+
+  Page<MensagemParcial> listarCampos(Set<CampoMensagem> campos, Pageable pageable);
+
+  Optional<MensagemParcial> buscarCampos(UUID id, Set<CampoMensagem> campos);
+}
@@ -0,0 +1,167 @@
+package br.com.fiap.api.api.repository;
+
+import br.com.fiap.api.api.model.CampoMensagem;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemParcial;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_PAGINAS_MENSAGENS;
+
+@RequiredArgsConstructor
+public class MensagemRepositoryCustomImpl implements MensagemRepositoryCustom {
+  private final JdbcTemplate jdbcTemplate;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Usa persist em vez de save: como o id já vem preenchido, o save faria um merge
+   * (SELECT por registro). O flush a cada chunk envia os INSERTs agrupados pelo
+   * hibernate.jdbc.batch_size e o clear mantém o contexto de persistência pequeno.
+   */
+  @Override
+  @Transactional
+  public void inserirEmLote(List<Mensagem> mensagens, int tamanhoChunk) {
+    for (int i = 0; i < mensagens.size(); i++) {
+      entityManager.persist(mensagens.get(i));
+      if ((i + 1) % tamanhoChunk == 0) {
+        entityManager.flush();
+        entityManager.clear();
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * Aplica todos os incrementos em um único batch JDBC. As linhas são atualizadas
+   * sempre na mesma ordem de id para que flushes concorrentes não entrem em deadlock.
+   * <p>
+   * O UPDATE não passa pelo Hibernate, então o cache de segundo nível é invalidado aqui:
+   * as mensagens alteradas e as páginas em cache, depois do commit para que uma leitura
+   * concorrente não volte a guardar o valor antigo.
+   */
+  @Override
+  @Transactional
+  public void incrementarGostei(Map<UUID, Long> incrementos) {
+    var parametros = new TreeMap<>(incrementos).entrySet().stream()
+        .map(incremento -> new Object[]{incremento.getValue(), incremento.getKey()})
+        .toList();
+    jdbcTemplate.batchUpdate("UPDATE mensagem SET gostei = gostei + ?, versao = versao + 1, "
+        + "data_alteracao = CURRENT_TIMESTAMP WHERE id = ?", parametros);
+
+    invalidarCacheAposCommit(List.copyOf(incrementos.keySet()));
+  }
+
+  /**
+   * UPDATE e DELETE por id direto no JDBC, como em {@link #incrementarGostei}: em JPQL (e também
+   * em SQL nativo sincronizado com a entidade) o Hibernate esvazia a região inteira de
+   * {@link Mensagem} no cache de segundo nível a cada chamada. Aqui sai só a mensagem afetada,
+   * já no retorno, para que a leitura seguinte na mesma transação vá ao banco, e de novo
+   * depois do commit.
+   */
+  @Override
+  @Transactional
+  public int alterarConteudo(UUID id, String conteudo) {
+    entityManager.flush();
+    var alteradas = jdbcTemplate.update("UPDATE mensagem SET conteudo = ?, versao = versao + 1, "
+        + "data_alteracao = CURRENT_TIMESTAMP WHERE id = ?", conteudo, id);
+    entityManager.clear();
+    invalidarCache(List.of(id));
+    invalidarCacheAposCommit(List.of(id));
+    return alteradas;
+  }
+
+  @Override
+  @Transactional
+  public int removerPorId(UUID id) {
+    entityManager.flush();
+    var removidas = jdbcTemplate.update("DELETE FROM mensagem WHERE id = ?", id);
+    entityManager.clear();
+    invalidarCache(List.of(id));
+    invalidarCacheAposCommit(List.of(id));
+    return removidas;
+  }
+
+  private void invalidarCacheAposCommit(List<UUID> ids) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      invalidarCache(ids);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        invalidarCache(ids);
+      }
+    });
+  }
+
+  private void invalidarCache(List<UUID> ids) {
+    var cache = entityManager.getEntityManagerFactory().getCache();
+    ids.forEach(id -> cache.evict(Mensagem.class, id));
+    cache.unwrap(Cache.class).evictQueryRegion(REGIAO_PAGINAS_MENSAGENS);
+  }
+
+  /**
+   * O SELECT traz apenas as colunas pedidas, e as linhas viram {@link MensagemParcial}
+   * sem passar pelo contexto de persistência. O COUNT só roda quando o tamanho da página
+   * não basta para calcular o total.
+   */
+  @Override
+  public Page<MensagemParcial> listarCampos(Set<CampoMensagem> campos, Pageable pageable) {
+    var conteudo = entityManager.createQuery(selecionar(campos) + " ORDER BY m.dataCriacao", Tuple.class)
+        .setFirstResult((int) pageable.getOffset())
+        .setMaxResults(pageable.getPageSize())
+        .getResultList()
+        .stream()
+        .map(tupla -> projetar(campos, tupla))
+        .toList();
+    return PageableExecutionUtils.getPage(conteudo, pageable,
+        () -> entityManager.createQuery("SELECT COUNT(m) FROM Mensagem m", Long.class).getSingleResult());
+  }
+
+  @Override
+  public Optional<MensagemParcial> buscarCampos(UUID id, Set<CampoMensagem> campos) {
+    return entityManager.createQuery(selecionar(campos) + " WHERE m.id = :id", Tuple.class)
+        .setParameter("id", id)
+        .getResultStream()
+        .findFirst()
+        .map(tupla -> projetar(campos, tupla));
+  }
+
+  // os nomes vêm do enum, nunca da requisição, então a concatenação não abre espaço para injeção
+  private static String selecionar(Set<CampoMensagem> campos) {
+    return campos.stream()
+        .map(campo -> "m." + campo.nome())
+        .collect(Collectors.joining(", ", "SELECT ", " FROM Mensagem m"));
+  }
+
+  private static MensagemParcial projetar(Set<CampoMensagem> campos, Tuple tupla) {
+    var valores = new EnumMap<CampoMensagem, Object>(CampoMensagem.class);
+    var posicao = 0;
+    for (var campo : campos) {
+      valores.put(campo, tupla.get(posicao++));
+    }
+    return MensagemParcial.of(valores);
+  }
+}
@@ -0,0 +1,58 @@
+package br.com.fiap.api.api.repository;
+
+import br.com.fiap.api.api.model.BuscaCursor;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemRelevante;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Busca pela coluna gerada {@code conteudo_tsv} e seu índice GIN, criados em
+ * {@code schema-postgresql.sql}. A relevância é o {@code ts_rank} da consulta, e a
+ * paginação continua a partir do último par (relevancia, id) entregue.
+ */
+@Repository
+@ConditionalOnProperty(name = "mensagem.busca.estrategia", havingValue = "postgres", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PostgresMensagemBuscaRepository implements MensagemBuscaRepository {
+  private static final String RESULTADOS = "SELECT * FROM ("
+      + "SELECT m.id, m.usuario, m.conteudo, m.data_criacao, m.gostei, m.versao, m.data_alteracao, "
+      + "ts_rank(m.conteudo_tsv, q.consulta) AS relevancia "
+      + "FROM mensagem m, websearch_to_tsquery('portuguese', ?) AS q(consulta) "
+      + "WHERE m.conteudo_tsv @@ q.consulta) r ";
+  private static final String ORDENACAO = "ORDER BY r.relevancia DESC, r.id LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public List<MensagemRelevante> buscar(String consulta, BuscaCursor apos, int limite) {
+    if (apos == null) {
+      return jdbcTemplate.query(RESULTADOS + ORDENACAO, PostgresMensagemBuscaRepository::mapear, consulta, limite);
+    }
+    return jdbcTemplate.query(
+        RESULTADOS + "WHERE r.relevancia < ? OR (r.relevancia = ? AND r.id > ?) " + ORDENACAO,
+        PostgresMensagemBuscaRepository::mapear,
+        consulta, apos.relevancia(), apos.relevancia(), apos.id(), limite);
+  }
+
+  private static MensagemRelevante mapear(ResultSet rs, int linha) throws SQLException {
+    var mensagem = Mensagem.builder()
+        .id(rs.getObject("id", UUID.class))
+        .usuario(rs.getString("usuario"))
+        .conteudo(rs.getString("conteudo"))
+        .dataCriacao(rs.getObject("data_criacao", LocalDateTime.class))
+        .gostei(rs.getInt("gostei"))
+        .versao(rs.getLong("versao"))
+        .dataAlteracao(rs.getObject("data_alteracao", LocalDateTime.class))
+        .build();
+    return new MensagemRelevante(mensagem, rs.getFloat("relevancia"));
+  }
+}
@@ -0,0 +1,80 @@
+package br.com.fiap.api.api.service;
+
+import br.com.fiap.api.api.repository.MensagemRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumula os "gostei" em memória, um {@link LongAdder} por mensagem, e grava os totais
+ * periodicamente com {@code gostei = gostei + n}. Cliques na mesma mensagem não disputam
+ * a mesma linha do banco nem o mesmo contador: o LongAdder espalha os incrementos em
+ * células por thread.
+ * <p>
+ * Contadores sem incrementos desde o último flush são removidos do mapa. Se um incremento
+ * cair em um contador já removido, quem incrementou recupera o valor com
+ * {@link LongAdder#sumThenReset()} e o devolve a um contador novo, então nenhum clique se perde.
+ */
+@Component
+@RequiredArgsConstructor
+public class GosteiAcumulador {
+  private final MensagemRepository mensagemRepository;
+  private final ValidadorCache validadorCache;
+  private final Map<UUID, LongAdder> contadores = new ConcurrentHashMap<>();
+
+  public void registrar(UUID id) {
+    adicionar(id, 1);
+  }
+
+  @Scheduled(fixedDelayString = "${mensagem.gostei.intervalo-flush:1000}")
+  public void descarregar() {
+    var incrementos = new HashMap<UUID, Long>();
+    contadores.forEach((id, contador) -> {
+      var incremento = contador.sumThenReset();
+      if (incremento == 0 && contadores.remove(id, contador)) {
+        incremento = contador.sumThenReset();
+      }
+      if (incremento > 0) {
+        incrementos.put(id, incremento);
+      }
+    });
+
+    if (incrementos.isEmpty()) {
+      return;
+    }
+    try {
+      mensagemRepository.incrementarGostei(incrementos);
+      // o gostei muda a versão das mensagens, então os ETags entregues deixam de valer
+      validadorCache.invalidar(incrementos.keySet());
+    } catch (RuntimeException e) {
+      // devolve os incrementos para a próxima tentativa
+      incrementos.forEach(this::adicionar);
+      throw e;
+    }
+  }
+
+  @PreDestroy
+  public void encerrar() {
+    descarregar();
+  }
+
+  private void adicionar(UUID id, long quantidade) {
+    var pendente = quantidade;
+    while (pendente > 0) {
+      var contador = contadores.computeIfAbsent(id, chave -> new LongAdder());
+      contador.add(pendente);
+      if (contadores.get(id) == contador) {
+        return;
+      }
+      // o contador foi removido pelo flush enquanto incrementávamos
+      pendente = contador.sumThenReset();
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package br.com.fiap.api.api.service;
+
+import br.com.fiap.api.api.config.MensagemIdempotenciaProperties;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.RegistroIdempotencia;
+import br.com.fiap.api.api.repository.IdempotenciaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key do {@code POST /mensagens}. A primeira requisição com a chave reserva o
+ * registro, executa o cadastro e guarda a resposta de sucesso; as seguintes recebem a mesma
+ * resposta, com o header {@code Idempotent-Replayed}, sem chegar ao {@link MensagemService}.
+ * <p>
+ * Uma repetição que chega enquanto a primeira ainda está em andamento recebe 409 com
+ * Retry-After, e a mesma chave com outra mensagem recebe 422. Respostas de erro não são
+ * guardadas: a reserva é desfeita e o cliente pode tentar de novo com a mesma chave.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotenciaService {
+  public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+  public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+  private static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+  private final IdempotenciaRepository idempotenciaRepository;
+  private final ObjectMapper objectMapper;
+  private final MensagemIdempotenciaProperties properties;
+
+  public ResponseEntity<?> executar(String chave, Mensagem mensagem, Supplier<ResponseEntity<?>> registro) {
+    if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body("Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+    }
+    var impressao = impressao(mensagem);
+    var reserva = RegistroIdempotencia.emAndamento(
+        chave, impressao, Instant.now().plus(properties.prazoProcessamento()));
+    var existente = idempotenciaRepository.reservar(reserva);
+    if (existente.isPresent()) {
+      return repetir(existente.get(), impressao);
+    }
+
+    ResponseEntity<?> resposta;
+    try {
+      resposta = registro.get();
+    } catch (RuntimeException e) {
+      idempotenciaRepository.liberar(reserva);
+      throw e;
+    }
+    if (resposta.getStatusCode().is2xxSuccessful()) {
+      idempotenciaRepository.concluir(reserva.concluido(
+          resposta.getStatusCode().value(), json(resposta.getBody()), Instant.now().plus(properties.ttl())));
+    } else {
+      idempotenciaRepository.liberar(reserva);
+    }
+    return resposta;
+  }
+
+  private static ResponseEntity<?> repetir(RegistroIdempotencia existente, String impressao) {
+    if (!existente.impressao().equals(impressao)) {
+      return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+          .body("Idempotency-Key já utilizada com outra mensagem");
+    }
+    if (existente.emAndamento()) {
+      return ResponseEntity.status(HttpStatus.CONFLICT)
+          .header(HttpHeaders.RETRY_AFTER, "1")
+          .body("Requisição com esta Idempotency-Key ainda em processamento");
+    }
+    return ResponseEntity.status(existente.status())
+        .contentType(MediaType.APPLICATION_JSON)
+        .header(IDEMPOTENT_REPLAYED, "true")
+        .body(existente.corpo());
+  }
+
+  // id e datas são atribuídos pelo servidor, então só usuario e conteudo identificam a mensagem
+  private static String impressao(Mensagem mensagem) {
+    var conteudo = mensagem.getUsuario() + "\0" + mensagem.getConteudo();
+    return DigestUtils.md5DigestAsHex(conteudo.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String json(Object corpo) {
+    try {
+      return objectMapper.writeValueAsString(corpo);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package br.com.fiap.api.api.service;
+
+import br.com.fiap.api.api.config.MensagemIngestaoProperties;
+import br.com.fiap.api.api.exception.FilaCheiaException;
+import br.com.fiap.api.api.id.IdGenerator;
+import br.com.fiap.api.api.model.Mensagem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestão write-behind do {@code POST /mensagens}: a mensagem recebe o id, entra em uma
+ * fila limitada e a requisição termina; escritores em segundo plano esvaziam a fila em
+ * lotes de até {@code tamanhoLote} com {@link MensagemService#registrarMensagensComId}.
+ * Com a fila cheia, {@link #enfileirar} lança {@link FilaCheiaException} em vez de bloquear.
+ * <p>
+ * No encerramento os escritores só param depois de gravar o que já foi aceito. A fase do
+ * ciclo de vida é menor que a do servidor web, então o Tomcat deixa de receber requisições
+ * (e de enfileirar) antes de a fila começar a ser drenada.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mensagem.ingestao.modo", havingValue = "assincrona")
+public class IngestaoAssincrona implements SmartLifecycle {
+  public static final String GAUGE_FILA = "mensagem.ingestao.fila";
+  public static final String COUNTER_MENSAGENS = "mensagem.ingestao.mensagens";
+
+  private static final long ESPERA_MS = 100;
+  private static final int TENTATIVAS = 3;
+
+  private final MensagemService mensagemService;
+  private final IdGenerator idGenerator;
+  private final Validator validator;
+  private final MensagemIngestaoProperties properties;
+  private final BlockingQueue<Mensagem> fila;
+  private final List<Thread> escritores = new ArrayList<>();
+  private final Counter aceitas;
+  private final Counter rejeitadas;
+  private final Counter gravadas;
+  private final Counter perdidas;
+  private volatile boolean executando;
+
+  public IngestaoAssincrona(
+      MensagemService mensagemService,
+      IdGenerator idGenerator,
+      Validator validator,
+      MensagemIngestaoProperties properties,
+      MeterRegistry meterRegistry) {
+    this.mensagemService = mensagemService;
+    this.idGenerator = idGenerator;
+    this.validator = validator;
+    this.properties = properties;
+    this.fila = new ArrayBlockingQueue<>(properties.capacidadeFila());
+
+    Gauge.builder(GAUGE_FILA, fila, BlockingQueue::size)
+        .description("Mensagens aceitas aguardando gravação")
+        .tag("capacidade", String.valueOf(properties.capacidadeFila()))
+        .register(meterRegistry);
+    this.aceitas = contador(meterRegistry, "aceita");
+    this.rejeitadas = contador(meterRegistry, "rejeitada");
+    this.gravadas = contador(meterRegistry, "gravada");
+    this.perdidas = contador(meterRegistry, "perdida");
+  }
+
+  /**
+   * Valida, atribui o id e enfileira a mensagem, que será gravada depois.
+   *
+   * @throws IllegalArgumentException se a mensagem for inválida
+   * @throws FilaCheiaException se a fila estiver cheia
+   */
+  public Mensagem enfileirar(Mensagem mensagem) {
+    var erros = validator.validate(mensagem).stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .toList();
+    if (!erros.isEmpty()) {
+      throw new IllegalArgumentException(String.join(", ", erros));
+    }
+
+    mensagem.setId(idGenerator.gerarId());
+    if (!fila.offer(mensagem)) {
+      rejeitadas.increment();
+      throw new FilaCheiaException("Fila de ingestão cheia");
+    }
+    aceitas.increment();
+    return mensagem;
+  }
+
+  @Override
+  public void start() {
+    executando = true;
+    for (int i = 0; i < properties.escritores(); i++) {
+      var escritor = new Thread(this::escrever, "ingestao-mensagem-" + i);
+      escritores.add(escritor);
+      escritor.start();
+    }
+  }
+
+  @Override
+  public void stop() {
+    executando = false;
+    var prazo = System.nanoTime() + properties.prazoEncerramento().toNanos();
+    for (var escritor : escritores) {
+      try {
+        escritor.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(prazo - System.nanoTime())));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    escritores.clear();
+    if (!fila.isEmpty()) {
+      log.error("Encerramento da ingestão excedeu {}: {} mensagens não gravadas",
+          properties.prazoEncerramento(), fila.size());
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return executando;
+  }
+
+  @Override
+  public int getPhase() {
+    // abaixo do WebServerGracefulShutdownLifecycle e do WebServerStartStopLifecycle
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void escrever() {
+    var lote = new ArrayList<Mensagem>(properties.tamanhoLote());
+    while (executando || !fila.isEmpty()) {
+      try {
+        var primeira = fila.poll(ESPERA_MS, TimeUnit.MILLISECONDS);
+        if (primeira == null) {
+          continue;
+        }
+        // agrupa o que já estiver na fila, sem esperar o lote encher
+        lote.add(primeira);
+        fila.drainTo(lote, properties.tamanhoLote() - 1);
+        gravar(lote);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        lote.clear();
+      }
+    }
+  }
+
+  private void gravar(List<Mensagem> lote) throws InterruptedException {
+    for (int tentativa = 1; ; tentativa++) {
+      try {
+        mensagemService.registrarMensagensComId(lote);
+        gravadas.increment(lote.size());
+        return;
+      } catch (RuntimeException e) {
+        if (tentativa == TENTATIVAS) {
+          perdidas.increment(lote.size());
+          log.error("Lote de {} mensagens descartado após {} tentativas: {}",
+              lote.size(), TENTATIVAS, lote.stream().map(Mensagem::getId).toList(), e);
+          return;
+        }
+        Thread.sleep(ESPERA_MS * tentativa);
+      }
+    }
+  }
+
+  private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+    return Counter.builder(COUNTER_MENSAGENS)
+        .description("Mensagens da ingestão assíncrona por resultado")
+        .tag("resultado", resultado)
+        .register(meterRegistry);
+  }
+}
@@ -1,19 +1,50 @@
 package br.com.fiap.api.api.service;
 
+import br.com.fiap.api.api.model.CampoMensagem;
 import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemCursorPage;
+import br.com.fiap.api.api.model.MensagemParcial;
+import br.com.fiap.api.api.model.ResultadoLote;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface MensagemService {
     Mensagem registrarMensagem(Mensagem mensagem);
 
+    ResultadoLote registrarMensagens(List<Mensagem> mensagens);
+
+    void registrarMensagensComId(List<Mensagem> mensagens);
+
     Mensagem buscarMensagem(UUID id);
 
+    MensagemParcial buscarMensagem(UUID id, Set<CampoMensagem> campos);
+
     Mensagem alterarMensagem(UUID id, Mensagem mensagemAtualizada);
 
     boolean removerMensagem(UUID id);
 
+    void registrarGostei(UUID id);
+
     public Page<Mensagem> listarMensagens(Pageable pageable);
+
+    Page<MensagemParcial> listarMensagens(Pageable pageable, Set<CampoMensagem> campos);
+
+    Slice<Mensagem> listarMensagensSemTotal(Pageable pageable);
+
+    long contarMensagensAproximado();
+
+    MensagemCursorPage listarMensagensPorCursor(String cursor, int size);
+
+    MensagemCursorPage listarMensagensPorUsuario(String usuario, String cursor, int size);
+
+    MensagemCursorPage buscarMensagens(String consulta, String cursor, int size);
+
+    void exportarMensagens(String usuario, LocalDateTime de, LocalDateTime ate, Consumer<Mensagem> consumidor);
 }
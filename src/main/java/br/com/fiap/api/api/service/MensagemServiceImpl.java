@@ -1,52 +1,276 @@
 package br.com.fiap.api.api.service;
 
+import br.com.fiap.api.api.config.MensagemCacheProperties;
+import br.com.fiap.api.api.config.MensagemLoteProperties;
+import br.com.fiap.api.api.event.MensagemEvento;
 import br.com.fiap.api.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.api.id.IdGenerator;
+import br.com.fiap.api.api.model.BuscaCursor;
+import br.com.fiap.api.api.model.CampoMensagem;
+import br.com.fiap.api.api.model.ItemLote;
 import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemCursor;
+import br.com.fiap.api.api.model.MensagemCursorPage;
+import br.com.fiap.api.api.model.MensagemParcial;
+import br.com.fiap.api.api.model.MensagemRelevante;
+import br.com.fiap.api.api.model.ResultadoLote;
+import br.com.fiap.api.api.replica.RoteadorDataSource;
+import br.com.fiap.api.api.repository.MensagemBuscaRepository;
 import br.com.fiap.api.api.repository.MensagemRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static br.com.fiap.api.api.config.ApplicationConfig.CACHE_MENSAGENS;
+import static br.com.fiap.api.api.config.ApplicationConfig.CACHE_TOTAL_MENSAGENS;
+import static br.com.fiap.api.api.config.ApplicationConfig.CACHE_VALIDADORES;
+import static br.com.fiap.api.api.config.ApplicationConfig.CACHE_VALIDADORES_PAGINA;
+
+/**
+ * As leituras rodam em transações {@code readOnly}: o Hibernate carrega as entidades como
+ * somente leitura, sem snapshot para dirty checking, e não faz flush ao final.
+ */
 @Service
 @RequiredArgsConstructor
 public class MensagemServiceImpl implements MensagemService{
+    // teto das páginas por cursor e da busca: sem ele, size alto lê a tabela inteira em uma requisição
+    public static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     private final MensagemRepository mensagemRepository;
+    private final IdGenerator idGenerator;
+    private final MensagemLoteProperties loteProperties;
+    private final Validator validator;
+    private final GosteiAcumulador gosteiAcumulador;
+    private final MensagemBuscaRepository mensagemBuscaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MensagemCacheProperties cacheProperties;
 
     @Override
+    @CacheEvict(cacheNames = CACHE_VALIDADORES_PAGINA, allEntries = true)
     public Mensagem registrarMensagem(Mensagem mensagem) {
-        mensagem.setId(UUID.randomUUID());
-        return mensagemRepository.save(mensagem);
+        mensagem.setId(idGenerator.gerarId());
+        var mensagemRegistrada = mensagemRepository.save(mensagem);
+        eventPublisher.publishEvent(MensagemEvento.criada(mensagemRegistrada));
+        return mensagemRegistrada;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CACHE_VALIDADORES_PAGINA, allEntries = true)
+    public ResultadoLote registrarMensagens(List<Mensagem> mensagens) {
+        if (mensagens.size() > loteProperties.tamanhoMaximo()) {
+            throw new IllegalArgumentException(
+                "Lote excede o tamanho máximo de " + loteProperties.tamanhoMaximo() + " mensagens");
+        }
+
+        var itens = new ArrayList<ItemLote>(mensagens.size());
+        var validas = new ArrayList<Mensagem>(mensagens.size());
+        for (int i = 0; i < mensagens.size(); i++) {
+            var mensagem = mensagens.get(i);
+            if (mensagem == null) {
+                itens.add(ItemLote.rejeitada(i, List.of("Mensagem não pode ser nula")));
+                continue;
+            }
+            var erros = validator.validate(mensagem).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+            if (!erros.isEmpty()) {
+                itens.add(ItemLote.rejeitada(i, erros));
+                continue;
+            }
+            mensagem.setId(idGenerator.gerarId());
+            validas.add(mensagem);
+            itens.add(ItemLote.registrada(i, mensagem.getId()));
+        }
+
+        if (!validas.isEmpty()) {
+            mensagemRepository.inserirEmLote(validas, loteProperties.tamanhoChunk());
+            validas.forEach(mensagem -> eventPublisher.publishEvent(MensagemEvento.criada(mensagem)));
+        }
+        return ResultadoLote.of(itens);
     }
 
+    // mensagens já validadas e com id atribuído, como as da ingestão assíncrona
     @Override
+    @CacheEvict(cacheNames = CACHE_VALIDADORES_PAGINA, allEntries = true)
+    public void registrarMensagensComId(List<Mensagem> mensagens) {
+        mensagemRepository.inserirEmLote(mensagens, loteProperties.tamanhoChunk());
+        mensagens.forEach(mensagem -> eventPublisher.publishEvent(MensagemEvento.criada(mensagem)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_MENSAGENS, key = "#id")
     public Mensagem buscarMensagem(UUID id) {
-        return mensagemRepository.findById(id)
+        // o resultado enche o cache do Spring e o de segundo nível: vem do primário, não de uma réplica atrasada
+        return RoteadorDataSource.noPrimario(() -> mensagemRepository.findById(id))
+            .orElseThrow(() -> new MensagemNotFoundException("Mensagem não encontrada"));
+    }
+
+    // não passa pelo cache: cada combinação de campos seria uma entrada diferente
+    @Override
+    @Transactional(readOnly = true)
+    public MensagemParcial buscarMensagem(UUID id, Set<CampoMensagem> campos) {
+        return mensagemRepository.buscarCampos(id, campos)
             .orElseThrow(() -> new MensagemNotFoundException("Mensagem não encontrada"));
     }
 
     @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = {CACHE_MENSAGENS, CACHE_VALIDADORES}, key = "#id"),
+        @CacheEvict(cacheNames = CACHE_VALIDADORES_PAGINA, allEntries = true)
+    })
     public Mensagem alterarMensagem(UUID id, Mensagem mensagemAtualizada) {
-        var mensagem = buscarMensagem(id);
-        if(!mensagem.getId().equals(mensagemAtualizada.getId())) {
+        if(!id.equals(mensagemAtualizada.getId())) {
             throw new MensagemNotFoundException("mensagem atualiza não apresenta ID correto");
         }
-        mensagem.setConteudo(mensagemAtualizada.getConteudo());
+        var alteradas = mensagemRepository.alterarConteudo(id, mensagemAtualizada.getConteudo());
+        if (alteradas == 0) {
+            throw new MensagemNotFoundException("Mensagem não encontrada");
+        }
 
-        return mensagemRepository.save(mensagem);
+        // o UPDATE já foi aplicado; a leitura só monta a representação devolvida ao cliente
+        var mensagemAlterada = mensagemRepository.findById(id)
+            .orElseThrow(() -> new MensagemNotFoundException("Mensagem não encontrada"));
+        eventPublisher.publishEvent(MensagemEvento.alterada(mensagemAlterada));
+        return mensagemAlterada;
     }
 
     @Override
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = {CACHE_MENSAGENS, CACHE_VALIDADORES}, key = "#id"),
+        @CacheEvict(cacheNames = CACHE_VALIDADORES_PAGINA, allEntries = true)
+    })
     public boolean removerMensagem(UUID id) {
-        var mensagem = buscarMensagem(id);
-        mensagemRepository.deleteById(mensagem.getId());
+        if (mensagemRepository.removerPorId(id) == 0) {
+            throw new MensagemNotFoundException("Mensagem não encontrada");
+        }
+        eventPublisher.publishEvent(MensagemEvento.removida(id));
         return true;
     }
 
     @Override
+    public void registrarGostei(UUID id) {
+        gosteiAcumulador.registrar(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<Mensagem> listarMensagens(Pageable pageable) {
+        // as primeiras páginas concentram as leituras e ficam no cache de consultas do Hibernate
+        // as páginas em cache são lidas do primário, como em buscarMensagem
+        if (pageable.isPaged() && pageable.getPageNumber() < cacheProperties.paginasConsulta()) {
+            return RoteadorDataSource.noPrimario(() -> mensagemRepository.listarMensagensEmCache(pageable));
+        }
         return mensagemRepository.listarMensagens(pageable);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<MensagemParcial> listarMensagens(Pageable pageable, Set<CampoMensagem> campos) {
+        return mensagemRepository.listarCampos(campos, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Mensagem> listarMensagensSemTotal(Pageable pageable) {
+        return mensagemRepository.listarMensagensSemTotal(pageable);
+    }
+
+    // não é removido nas escritas: o total é recalculado quando a entrada expira no cache
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_TOTAL_MENSAGENS, key = "'total'")
+    public long contarMensagensAproximado() {
+        return mensagemRepository.count();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MensagemCursorPage listarMensagensPorCursor(String cursor, int size) {
+        validarTamanhoPagina(size);
+        // busca um registro a mais para saber se existe próxima página sem executar COUNT
+        var limite = PageRequest.of(0, size + 1);
+        List<Mensagem> mensagens;
+        if (cursor == null || cursor.isBlank()) {
+            mensagens = mensagemRepository.listarMensagensPorCursor(limite);
+        } else {
+            var posicao = MensagemCursor.decode(cursor);
+            mensagens = mensagemRepository.listarMensagensPorCursor(posicao.dataCriacao(), posicao.id(), limite);
+        }
+
+        return paginarPorCursor(mensagens, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MensagemCursorPage listarMensagensPorUsuario(String usuario, String cursor, int size) {
+        validarTamanhoPagina(size);
+        var limite = PageRequest.of(0, size + 1);
+        List<Mensagem> mensagens;
+        if (cursor == null || cursor.isBlank()) {
+            mensagens = mensagemRepository.listarMensagensPorUsuario(usuario, limite);
+        } else {
+            var posicao = MensagemCursor.decode(cursor);
+            mensagens = mensagemRepository.listarMensagensPorUsuario(usuario, posicao.dataCriacao(), posicao.id(), limite);
+        }
+        return paginarPorCursor(mensagens, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MensagemCursorPage buscarMensagens(String consulta, String cursor, int size) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("Consulta não pode estar vazia");
+        }
+        validarTamanhoPagina(size);
+        var apos = cursor == null || cursor.isBlank() ? null : BuscaCursor.decode(cursor);
+        var resultados = mensagemBuscaRepository.buscar(consulta, apos, size + 1);
+
+        var hasNext = resultados.size() > size;
+        var pagina = hasNext ? resultados.subList(0, size) : resultados;
+        var nextCursor = hasNext ? BuscaCursor.of(pagina.get(pagina.size() - 1)).encode() : null;
+        var content = pagina.stream().map(MensagemRelevante::mensagem).toList();
+        return new MensagemCursorPage(content, size, hasNext, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarMensagens(String usuario, LocalDateTime de, LocalDateTime ate, Consumer<Mensagem> consumidor) {
+        try (var mensagens = mensagemRepository.exportarMensagens(usuario, de, ate)) {
+            mensagens.forEach(consumidor);
+        }
+    }
+
+    private static void validarTamanhoPagina(int size) {
+        if (size < 1 || size > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA);
+        }
+    }
+
+    private static MensagemCursorPage paginarPorCursor(List<Mensagem> mensagens, int size) {
+        var hasNext = mensagens.size() > size;
+        var content = hasNext ? mensagens.subList(0, size) : mensagens;
+        var nextCursor = hasNext ? MensagemCursor.of(content.get(content.size() - 1)).encode() : null;
+        return new MensagemCursorPage(content, size, hasNext, nextCursor);
+    }
 }
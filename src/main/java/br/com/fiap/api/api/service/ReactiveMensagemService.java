@@ -0,0 +1,23 @@
+package br.com.fiap.api.api.service;
+
+import br.com.fiap.api.api.model.Mensagem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Versão não bloqueante do {@link MensagemService}, com as mesmas regras e mensagens de erro.
+ */
+public interface ReactiveMensagemService {
+    Mono<Mensagem> registrarMensagem(Mensagem mensagem);
+
+    Mono<Mensagem> buscarMensagem(UUID id);
+
+    Mono<Mensagem> alterarMensagem(UUID id, Mensagem mensagemAtualizada);
+
+    Mono<Boolean> removerMensagem(UUID id);
+
+    Mono<Page<Mensagem>> listarMensagens(Pageable pageable);
+}
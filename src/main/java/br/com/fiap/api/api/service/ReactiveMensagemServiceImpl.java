@@ -0,0 +1,62 @@
+package br.com.fiap.api.api.service;
+
+import br.com.fiap.api.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.api.id.IdGenerator;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.repository.MensagemReactiveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveMensagemServiceImpl implements ReactiveMensagemService {
+    private final MensagemReactiveRepository mensagemRepository;
+    private final IdGenerator idGenerator;
+
+    @Override
+    public Mono<Mensagem> registrarMensagem(Mensagem mensagem) {
+        mensagem.setId(idGenerator.gerarId());
+        return mensagemRepository.inserir(mensagem);
+    }
+
+    @Override
+    public Mono<Mensagem> buscarMensagem(UUID id) {
+        return mensagemRepository.buscarPorId(id)
+            .switchIfEmpty(Mono.error(() -> new MensagemNotFoundException("Mensagem não encontrada")));
+    }
+
+    @Override
+    public Mono<Mensagem> alterarMensagem(UUID id, Mensagem mensagemAtualizada) {
+        if(!id.equals(mensagemAtualizada.getId())) {
+            return Mono.error(new MensagemNotFoundException("mensagem atualiza não apresenta ID correto"));
+        }
+        return mensagemRepository.alterarConteudo(id, mensagemAtualizada.getConteudo())
+            .flatMap(alteradas -> alteradas == 0
+                ? Mono.<Mensagem>error(new MensagemNotFoundException("Mensagem não encontrada"))
+                : buscarMensagem(id));
+    }
+
+    @Override
+    public Mono<Boolean> removerMensagem(UUID id) {
+        return mensagemRepository.removerPorId(id)
+            .flatMap(removidas -> removidas == 0
+                ? Mono.<Boolean>error(new MensagemNotFoundException("Mensagem não encontrada"))
+                : Mono.just(true));
+    }
+
+    @Override
+    public Mono<Page<Mensagem>> listarMensagens(Pageable pageable) {
+        return mensagemRepository.listarMensagens(pageable.getOffset(), pageable.getPageSize())
+            .collectList()
+            .zipWith(mensagemRepository.contarMensagens())
+            .<Page<Mensagem>>map(resultado -> new PageImpl<>(resultado.getT1(), pageable, resultado.getT2()));
+    }
+}
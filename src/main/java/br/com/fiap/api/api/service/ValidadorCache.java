@@ -0,0 +1,118 @@
+package br.com.fiap.api.api.service;
+
+import br.com.fiap.api.api.event.MensagemEvento;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.Validador;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.fiap.api.api.config.ApplicationConfig.CACHE_MENSAGENS;
+import static br.com.fiap.api.api.config.ApplicationConfig.CACHE_VALIDADORES;
+import static br.com.fiap.api.api.config.ApplicationConfig.CACHE_VALIDADORES_PAGINA;
+
+/**
+ * Guarda o último {@link Validador} entregue para cada mensagem e para cada página da
+ * listagem. Um GET condicional cujo validador ainda está em cache é respondido com 304
+ * sem consultar o banco.
+ * <p>
+ * As entradas de mensagem são removidas pelo {@link MensagemServiceImpl} ao alterar ou
+ * remover e pelo {@link GosteiAcumulador} ao gravar gostei. Qualquer escrita limpa os
+ * validadores de página, pois inclusões e remoções deslocam todas as páginas seguintes.
+ * {@link #invalidar} também remove as mensagens do cache {@code mensagens}: do contrário o
+ * próximo GET devolveria a versão anterior e voltaria a registrar o validador antigo.
+ * <p>
+ * Um GET que leu o banco antes de uma escrita pode chegar ao registro depois da remoção
+ * feita por ela. Para não gravar esse validador antigo, toda remoção incrementa a
+ * {@link #geracao()} antes de remover; quem registra informa a geração lida antes da
+ * consulta e desfaz o registro se ela mudou.
+ */
+@Component
+public class ValidadorCache {
+  private final Cache mensagens;
+  private final Cache paginas;
+  private final Cache entidades;
+  private final AtomicLong geracao = new AtomicLong();
+
+  public ValidadorCache(CacheManager cacheManager) {
+    this.mensagens = Objects.requireNonNull(cacheManager.getCache(CACHE_VALIDADORES), CACHE_VALIDADORES);
+    this.paginas = Objects.requireNonNull(cacheManager.getCache(CACHE_VALIDADORES_PAGINA), CACHE_VALIDADORES_PAGINA);
+    this.entidades = Objects.requireNonNull(cacheManager.getCache(CACHE_MENSAGENS), CACHE_MENSAGENS);
+  }
+
+  public Validador buscarMensagem(UUID id) {
+    return mensagens.get(id, Validador.class);
+  }
+
+  /**
+   * Geração atual das entradas; deve ser lida antes da consulta cujo resultado será
+   * registrado.
+   */
+  public long geracao() {
+    return geracao.get();
+  }
+
+  public Validador registrarMensagem(Mensagem mensagem, long lidaNaGeracao) {
+    var validador = Validador.of(mensagem);
+    if (!registrar(mensagens, mensagem.getId(), validador, lidaNaGeracao)) {
+      // a mensagem pode ter vindo do cache do serviço, preenchido pela mesma leitura antiga
+      entidades.evict(mensagem.getId());
+    }
+    return validador;
+  }
+
+  public Validador buscarPagina(Pageable pageable) {
+    return paginas.get(chave(pageable), Validador.class);
+  }
+
+  public Validador registrarPagina(Pageable pageable, Page<Mensagem> pagina, long lidaNaGeracao) {
+    var validador = Validador.of(pagina);
+    registrar(paginas, chave(pageable), validador, lidaNaGeracao);
+    return validador;
+  }
+
+  public void invalidar(Collection<UUID> ids) {
+    geracao.incrementAndGet();
+    ids.forEach(id -> {
+      entidades.evict(id);
+      mensagens.evict(id);
+    });
+    paginas.clear();
+  }
+
+  // roda depois do commit, antes dos @CacheEvict do MensagemServiceImpl, que não mexem na geração
+  @TransactionalEventListener(fallbackExecution = true)
+  public void atualizar(MensagemEvento evento) {
+    invalidar(Set.of(evento.id()));
+  }
+
+  /**
+   * Grava com putIfAbsent e confere a geração de novo: se uma remoção começou depois da
+   * primeira conferência, ou ela remove a entrada em seguida ou o incremento já é visível
+   * aqui e a entrada é desfeita.
+   */
+  private boolean registrar(Cache cache, Object chave, Validador validador, long lidaNaGeracao) {
+    if (geracao.get() != lidaNaGeracao) {
+      return false;
+    }
+    cache.putIfAbsent(chave, validador);
+    if (geracao.get() != lidaNaGeracao) {
+      cache.evict(chave);
+      return false;
+    }
+    return true;
+  }
+
+  private static String chave(Pageable pageable) {
+    return pageable.getPageNumber() + ":" + pageable.getPageSize();
+  }
+}
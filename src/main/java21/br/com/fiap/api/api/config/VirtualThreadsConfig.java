@@ -0,0 +1,35 @@
+package br.com.fiap.api.api.config;
+
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Executa cada requisição (e as chamadas ao serviço e ao JDBC feitas por ela) em uma
+ * virtual thread. Só é compilada com o profile Maven {@code java21} e só é ativada com
+ * o profile Spring {@code virtual-threads}.
+ * <p>
+ * Com virtual threads o limite de concorrência passa a ser o pool de conexões, por isso
+ * o {@code application-virtual-threads.yml} fixa o tamanho do Hikari e um timeout curto
+ * de espera por conexão.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfig {
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+    return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+  }
+
+  @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+  public AsyncTaskExecutor applicationTaskExecutor() {
+    return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+  }
+}
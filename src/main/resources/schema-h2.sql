@@ -0,0 +1,10 @@
+-- Idempotency-Key com mensagem.idempotencia.armazenamento=banco; status nulo = em andamento
+CREATE TABLE IF NOT EXISTS idempotencia (
+    chave     VARCHAR(255) PRIMARY KEY,
+    impressao VARCHAR(64)  NOT NULL,
+    status    INTEGER,
+    corpo     CLOB,
+    expira_em TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotencia_expira_em ON idempotencia (expira_em);
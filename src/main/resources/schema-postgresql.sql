@@ -0,0 +1,37 @@
+-- Mensagens particionadas por mês de data_criacao: ParticoesMensagem cria as partições
+-- mensais à frente e remove as expiradas. A chave primária precisa conter a coluna de
+-- particionamento; o id continua único porque é gerado pela aplicação (UUID).
+-- O IF NOT EXISTS não converte uma tabela mensagem comum já existente: ParticoesMensagem
+-- verifica pg_partitioned_table na subida e falha até a migração descrita no README.
+CREATE TABLE IF NOT EXISTS mensagem (
+    id             UUID         NOT NULL,
+    usuario        VARCHAR(255) NOT NULL,
+    conteudo       VARCHAR(255) NOT NULL,
+    data_criacao   TIMESTAMP(6) NOT NULL,
+    gostei         INTEGER      NOT NULL,
+    versao         BIGINT       NOT NULL,
+    data_alteracao TIMESTAMP(6),
+    -- Busca textual: coluna tsvector mantida pelo próprio banco e indexada com GIN
+    conteudo_tsv   tsvector GENERATED ALWAYS AS (to_tsvector('portuguese', conteudo)) STORED,
+    PRIMARY KEY (id, data_criacao)
+) PARTITION BY RANGE (data_criacao);
+
+-- recebe datas sem partição mensal (anteriores à primeira ou além das criadas) em vez de
+-- recusar o INSERT; com as partições criadas à frente, fica vazia
+CREATE TABLE IF NOT EXISTS mensagem_padrao PARTITION OF mensagem DEFAULT;
+
+-- índices declarados no pai são criados em cada partição, inclusive nas futuras
+CREATE INDEX IF NOT EXISTS idx_mensagem_data_criacao_id ON mensagem (data_criacao, id);
+CREATE INDEX IF NOT EXISTS idx_mensagem_usuario_data_criacao_id ON mensagem (usuario, data_criacao, id);
+CREATE INDEX IF NOT EXISTS idx_mensagem_conteudo_tsv ON mensagem USING GIN (conteudo_tsv);
+
+-- Idempotency-Key com mensagem.idempotencia.armazenamento=banco; status nulo = em andamento
+CREATE TABLE IF NOT EXISTS idempotencia (
+    chave     VARCHAR(255) PRIMARY KEY,
+    impressao VARCHAR(64)  NOT NULL,
+    status    INTEGER,
+    corpo     TEXT,
+    expira_em TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotencia_expira_em ON idempotencia (expira_em);
@@ -0,0 +1,30 @@
+package br.com.fiap.api.config;
+
+import br.com.fiap.api.api.config.MensagemLoteProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MensagemLotePropertiesTest {
+  private final ApplicationContextRunner runner = new ApplicationContextRunner()
+      .withUserConfiguration(Configuracao.class);
+
+  @Test
+  void deveUsarValoresPadrao() {
+    runner.run(contexto -> assertThat(contexto.getBean(MensagemLoteProperties.class))
+        .isEqualTo(new MensagemLoteProperties(10000, 500)));
+  }
+
+  @Test
+  void deveImpedirSubida_QuandoTamanhoChunkNaoPositivo() {
+    runner.withPropertyValues("mensagem.lote.tamanho-chunk=0")
+        .run(contexto -> assertThat(contexto).hasFailed()
+            .getFailure().hasStackTraceContaining("tamanhoChunk"));
+  }
+
+  @EnableConfigurationProperties(MensagemLoteProperties.class)
+  static class Configuracao {
+  }
+}
@@ -0,0 +1,32 @@
+package br.com.fiap.api.config;
+
+import br.com.fiap.api.api.config.MensagemCacheProperties;
+import br.com.fiap.api.api.config.SegundoNivelCacheConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_MENSAGEM;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegundoNivelCacheConfigTest {
+  private final ApplicationContextRunner runner = new ApplicationContextRunner()
+      .withBean(MensagemCacheProperties.class, () -> new MensagemCacheProperties(100, Duration.ofMinutes(1), 3))
+      .withUserConfiguration(SegundoNivelCacheConfig.class);
+
+  @Test
+  void deveCriarRegioesEmCadaContexto_QuandoDoisContextosConvivemNaMesmaJvm() {
+    runner.run(primeiro -> runner.run(segundo -> {
+      // Assert
+      assertThat(primeiro).hasNotFailed();
+      assertThat(segundo).hasNotFailed();
+      var cachePrimeiro = primeiro.getBean(CacheManager.class);
+      var cacheSegundo = segundo.getBean(CacheManager.class);
+      assertThat(cachePrimeiro).isNotSameAs(cacheSegundo);
+      assertThat(cachePrimeiro.getCache(REGIAO_MENSAGEM)).isNotNull();
+      assertThat(cacheSegundo.getCache(REGIAO_MENSAGEM)).isNotNull();
+    }));
+  }
+}
@@ -2,12 +2,14 @@ package br.com.fiap.api.controller;
 
 import br.com.fiap.api.api.RestApiApplication;
 import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.service.GosteiAcumulador;
 import br.com.fiap.api.utils.MensagemHelper;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
@@ -32,6 +34,9 @@ public class MensagemControllerIT {
   @LocalServerPort
   private int port;
 
+  @Autowired
+  private GosteiAcumulador gosteiAcumulador;
+
   @BeforeEach
   void setup() {
     RestAssured.port = port;
@@ -227,6 +232,42 @@ public class MensagemControllerIT {
     }
   }
 
+  @Nested
+  class RegistrarGostei {
+    @Test
+    void deveAlterarETag_QuandoGosteiGravado() {
+      var id = given()
+          .contentType("application/json")
+          .body(MensagemHelper.gerarMensagem())
+      .when()
+          .post("/mensagens")
+      .then()
+          .statusCode(HttpStatus.CREATED.value())
+          .extract().path("id");
+      var etagAntes = when()
+          .get("/mensagens/{id}", id)
+      .then()
+          .statusCode(HttpStatus.OK.value())
+          .extract().header("ETag");
+
+      when()
+          .post("/mensagens/{id}/gostei", id)
+      .then()
+          .statusCode(HttpStatus.ACCEPTED.value());
+      gosteiAcumulador.descarregar();
+
+      given()
+          .header("If-None-Match", etagAntes)
+      .when()
+          .get("/mensagens/{id}", id)
+      .then()
+          .log().all()
+          .statusCode(HttpStatus.OK.value())
+          .header("ETag", not(equalTo(etagAntes)))
+          .body("gostei", equalTo(1));
+    }
+  }
+
   @Nested
   class ListarMensagem {
     @Test
@@ -1,32 +1,60 @@
 package br.com.fiap.api.controller;
 
+import br.com.fiap.api.api.config.MensagemIdempotenciaProperties;
+import br.com.fiap.api.api.config.MensagemLimiteProperties;
 import br.com.fiap.api.api.controller.MensagemController;
+import br.com.fiap.api.api.exception.FilaCheiaException;
 import br.com.fiap.api.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.api.limite.LimitadorRequisicoes;
+import br.com.fiap.api.api.model.CampoMensagem;
+import br.com.fiap.api.api.model.ItemLote;
 import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemCursorPage;
+import br.com.fiap.api.api.model.MensagemParcial;
+import br.com.fiap.api.api.model.ResultadoLote;
+import br.com.fiap.api.api.repository.MemoriaIdempotenciaRepository;
+import br.com.fiap.api.api.service.IdempotenciaService;
+import br.com.fiap.api.api.service.IngestaoAssincrona;
 import br.com.fiap.api.api.service.MensagemService;
+import br.com.fiap.api.api.service.ValidadorCache;
 import br.com.fiap.api.utils.MensagemHelper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -35,15 +63,24 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class MensagemControllerTest {
   private MockMvc mockMvc;
 
+  private ValidadorCache validadorCache;
+
   @Mock
   private MensagemService mensagemService;
 
+  @Mock
+  private IngestaoAssincrona ingestaoAssincrona;
+
   AutoCloseable mock;
 
   @BeforeEach
   void setup() {
     mock = MockitoAnnotations.openMocks(this);
-    MensagemController controller = new MensagemController(mensagemService);
+    var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    validadorCache = new ValidadorCache(new ConcurrentMapCacheManager());
+    MensagemController controller = new MensagemController(
+        mensagemService, objectMapper, validadorCache, idempotenciaService(objectMapper),
+        limitador(Map.of()), Optional.empty());
     mockMvc = MockMvcBuilders.standaloneSetup(controller)
         .addFilter((request, response, chain) -> {
           response.setCharacterEncoding("UTF-8");
@@ -57,6 +94,15 @@ public class MensagemControllerTest {
     mock.close();
   }
 
+  private static LimitadorRequisicoes limitador(Map<String, MensagemLimiteProperties.Limite> endpoints) {
+    return new LimitadorRequisicoes(new MensagemLimiteProperties(1, 16, endpoints), new SimpleMeterRegistry());
+  }
+
+  private static IdempotenciaService idempotenciaService(ObjectMapper objectMapper) {
+    var properties = new MensagemIdempotenciaProperties("memoria", 100, Duration.ofHours(1), Duration.ofSeconds(30));
+    return new IdempotenciaService(new MemoriaIdempotenciaRepository(properties), objectMapper, properties);
+  }
+
   @Nested
   class RegistrarMensagem {
     @Test
@@ -75,6 +121,111 @@ public class MensagemControllerTest {
       verify(mensagemService, times(1)).registrarMensagem(any(Mensagem.class));
     }
 
+    @Test
+    void devePermitirRegistrarMensagem_RepetindoRespostaDaMesmaIdempotencyKey() throws Exception {
+      var id = UUID.randomUUID();
+      var mensagem = MensagemHelper.gerarMensagem();
+      when(mensagemService.registrarMensagem(any(Mensagem.class))).thenAnswer(answer -> {
+        Mensagem registrada = answer.getArgument(0);
+        registrada.setId(id);
+        return registrada;
+      });
+
+      for (int tentativa = 0; tentativa < 2; tentativa++) {
+        mockMvc.perform(
+            post("/mensagens")
+                .header(IdempotenciaService.IDEMPOTENCY_KEY, "chave-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(mensagem))
+        ).andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").value(id.toString()));
+      }
+      verify(mensagemService, times(1)).registrarMensagem(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoIdempotencyKeyReutilizadaComOutraMensagem() throws Exception {
+      when(mensagemService.registrarMensagem(any(Mensagem.class)))
+          .thenAnswer(answer -> answer.getArgument(0));
+      var outra = MensagemHelper.gerarMensagem();
+      outra.setConteudo("Outro conteúdo");
+
+      mockMvc.perform(
+          post("/mensagens")
+              .header(IdempotenciaService.IDEMPOTENCY_KEY, "chave-2")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(MensagemHelper.gerarMensagem()))
+      ).andExpect(status().isCreated());
+      mockMvc.perform(
+          post("/mensagens")
+              .header(IdempotenciaService.IDEMPOTENCY_KEY, "chave-2")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(outra))
+      ).andExpect(status().isUnprocessableEntity());
+
+      verify(mensagemService, times(1)).registrarMensagem(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoLimiteDoUsuarioExcedido() throws Exception {
+      when(mensagemService.registrarMensagem(any(Mensagem.class)))
+          .thenAnswer(answer -> answer.getArgument(0));
+      var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+      var controller = new MensagemController(
+          mensagemService,
+          objectMapper,
+          new ValidadorCache(new ConcurrentMapCacheManager()),
+          idempotenciaService(objectMapper),
+          limitador(Map.of(MensagemController.ENDPOINT_REGISTRAR, new MensagemLimiteProperties.Limite(1, 0.1))),
+          Optional.empty());
+      var mockMvcLimitado = MockMvcBuilders.standaloneSetup(controller).build();
+
+      mockMvcLimitado.perform(
+          post("/mensagens")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(MensagemHelper.gerarMensagem()))
+      ).andExpect(status().isCreated());
+      mockMvcLimitado.perform(
+          post("/mensagens")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(MensagemHelper.gerarMensagem()))
+      ).andExpect(status().isTooManyRequests())
+          .andExpect(header().exists("Retry-After"));
+
+      verify(mensagemService, times(1)).registrarMensagem(any(Mensagem.class));
+    }
+
+    @Test
+    void devePermitirRepetirIdempotencyKey_QuandoLimiteDoUsuarioEsgotado() throws Exception {
+      var id = UUID.randomUUID();
+      when(mensagemService.registrarMensagem(any(Mensagem.class))).thenAnswer(answer -> {
+        Mensagem registrada = answer.getArgument(0);
+        registrada.setId(id);
+        return registrada;
+      });
+      var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+      var controller = new MensagemController(
+          mensagemService,
+          objectMapper,
+          new ValidadorCache(new ConcurrentMapCacheManager()),
+          idempotenciaService(objectMapper),
+          limitador(Map.of(MensagemController.ENDPOINT_REGISTRAR, new MensagemLimiteProperties.Limite(1, 0.1))),
+          Optional.empty());
+      var mockMvcLimitado = MockMvcBuilders.standaloneSetup(controller).build();
+      var mensagem = MensagemHelper.gerarMensagem();
+
+      for (int tentativa = 0; tentativa < 2; tentativa++) {
+        mockMvcLimitado.perform(
+            post("/mensagens")
+                .header(IdempotenciaService.IDEMPOTENCY_KEY, "chave-limitada")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(mensagem))
+        ).andExpect(status().isCreated())
+            .andExpect(jsonPath("$.id").value(id.toString()));
+      }
+      verify(mensagemService, times(1)).registrarMensagem(any(Mensagem.class));
+    }
+
     @Test
     void deveGerarExcecao_QuandoRegistrarMensagem_PayloadXML() throws Exception {
       String xmlPayload = "<mensagem><usuario>Ana</usuario><conteudo>Mensagem do Conteudo</conteudo></mensagem>";
@@ -87,6 +238,111 @@ public class MensagemControllerTest {
 
       verify(mensagemService, never()).registrarMensagem(any(Mensagem.class));
     }
+
+    @Test
+    void devePermitirRegistrarMensagem_QuandoIngestaoAssincrona() throws Exception {
+      var id = UUID.randomUUID();
+      when(ingestaoAssincrona.enfileirar(any(Mensagem.class))).thenAnswer(answer -> {
+        Mensagem mensagem = answer.getArgument(0);
+        mensagem.setId(id);
+        return mensagem;
+      });
+
+      mockMvcAssincrono().perform(
+          post("/mensagens")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(MensagemHelper.gerarMensagem()))
+      ).andExpect(status().isAccepted())
+          .andExpect(jsonPath("$.id").value(id.toString()));
+
+      verify(mensagemService, never()).registrarMensagem(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoIngestaoAssincrona_FilaCheia() throws Exception {
+      when(ingestaoAssincrona.enfileirar(any(Mensagem.class)))
+          .thenThrow(new FilaCheiaException("Fila de ingestão cheia"));
+
+      mockMvcAssincrono().perform(
+          post("/mensagens")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(MensagemHelper.gerarMensagem()))
+      ).andExpect(status().isTooManyRequests())
+          .andExpect(header().string("Retry-After", "1"))
+          .andExpect(content().string("Fila de ingestão cheia"));
+    }
+
+    private MockMvc mockMvcAssincrono() {
+      var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+      var controller = new MensagemController(
+          mensagemService,
+          objectMapper,
+          new ValidadorCache(new ConcurrentMapCacheManager()),
+          idempotenciaService(objectMapper),
+          limitador(Map.of()),
+          Optional.of(ingestaoAssincrona));
+      return MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote() throws Exception {
+      var mensagens = List.of(MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem());
+      var resultado = ResultadoLote.of(List.of(
+          ItemLote.registrada(0, UUID.randomUUID()),
+          ItemLote.registrada(1, UUID.randomUUID())));
+      when(mensagemService.registrarMensagens(anyList())).thenReturn(resultado);
+
+      mockMvc.perform(
+          post("/mensagens/lote")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(mensagens))
+      ).andExpect(status().isCreated())
+          .andExpect(jsonPath("$.registradas").value(2))
+          .andExpect(jsonPath("$.itens[0].status").value("REGISTRADA"));
+
+      verify(mensagemService, times(1)).registrarMensagens(anyList());
+      verify(mensagemService, never()).registrarMensagem(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoLoteAcimaDaCapacidadeDoUsuario() throws Exception {
+      var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+      var controller = new MensagemController(
+          mensagemService,
+          objectMapper,
+          new ValidadorCache(new ConcurrentMapCacheManager()),
+          idempotenciaService(objectMapper),
+          limitador(Map.of(MensagemController.ENDPOINT_LOTE, new MensagemLimiteProperties.Limite(2, 1))),
+          Optional.empty());
+      var mockMvcLimitado = MockMvcBuilders.standaloneSetup(controller).build();
+      var mensagens = List.of(
+          MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem());
+
+      mockMvcLimitado.perform(
+          post("/mensagens/lote")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(mensagens))
+      ).andExpect(status().isPayloadTooLarge());
+
+      verify(mensagemService, never()).registrarMensagens(anyList());
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote_QuandoExistemItensRejeitados() throws Exception {
+      var mensagens = List.of(MensagemHelper.gerarMensagem(), new Mensagem());
+      var resultado = ResultadoLote.of(List.of(
+          ItemLote.registrada(0, UUID.randomUUID()),
+          ItemLote.rejeitada(1, List.of("Usuário não pode estar vazio"))));
+      when(mensagemService.registrarMensagens(anyList())).thenReturn(resultado);
+
+      mockMvc.perform(
+          post("/mensagens/lote")
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(asJsonString(mensagens))
+      ).andExpect(status().isMultiStatus())
+          .andExpect(jsonPath("$.rejeitadas").value(1))
+          .andExpect(jsonPath("$.itens[1].erros[0]").value("Usuário não pode estar vazio"));
+    }
   }
 
   @Nested
@@ -106,6 +362,15 @@ public class MensagemControllerTest {
       verify(mensagemService, times(1)).buscarMensagem(any(UUID.class));
     }
 
+    @Test
+    void deveGerarExcecao_QuandoBuscarMensagem_IdInvalido() throws Exception {
+      mockMvc.perform(get("/mensagens/{id}", "id-invalido"))
+          .andExpect(status().isBadRequest())
+          .andExpect(content().string("Id inválido"));
+
+      verify(mensagemService, never()).buscarMensagem(any(UUID.class));
+    }
+
     @Test
     void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() throws Exception {
       var id = UUID.fromString("ccd734df-8a0f-480f-83de-638c18d972a3");
@@ -118,6 +383,95 @@ public class MensagemControllerTest {
 
       verify(mensagemService, times(1)).buscarMensagem(any(UUID.class));
     }
+
+    @Test
+    void devePermitirBuscarMensagem_ComCamposSelecionados() throws Exception {
+      var id = UUID.fromString("ccd734df-8a0f-480f-83de-638c18d972a3");
+      var campos = EnumSet.of(CampoMensagem.ID, CampoMensagem.USUARIO);
+
+      when(mensagemService.buscarMensagem(id, campos))
+          .thenReturn(new MensagemParcial(id, "Jose", null, null, null, null, null));
+
+      mockMvc.perform(get("/mensagens/{id}", id).param("fields", "id,usuario"))
+          .andExpect(status().isOk())
+          .andExpect(header().doesNotExist("ETag"))
+          .andExpect(jsonPath("$.usuario").value("Jose"))
+          .andExpect(jsonPath("$.conteudo").doesNotExist());
+      verify(mensagemService, never()).buscarMensagem(any(UUID.class));
+    }
+
+    @Test
+    void deveRetornarNaoModificado_QuandoBuscarMensagem_ETagEmCache() throws Exception {
+      var id = UUID.fromString("ccd734df-8a0f-480f-83de-638c18d972a3");
+      var mensagem = MensagemHelper.gerarMensagem();
+      mensagem.setId(id);
+      when(mensagemService.buscarMensagem(id))
+          .thenReturn(mensagem);
+
+      var etag = mockMvc.perform(get("/mensagens/{id}", id))
+          .andExpect(status().isOk())
+          .andExpect(header().string("ETag", "\"" + id + "-0\""))
+          .andExpect(header().exists("Last-Modified"))
+          .andReturn().getResponse().getHeader("ETag");
+
+      mockMvc.perform(get("/mensagens/{id}", id).header("If-None-Match", etag))
+          .andExpect(status().isNotModified())
+          .andExpect(header().string("ETag", etag))
+          .andExpect(content().string(""));
+
+      verify(mensagemService, times(1)).buscarMensagem(id);
+    }
+
+    @Test
+    void deveRetornarMensagem_QuandoBuscarMensagem_ETagDiferente() throws Exception {
+      var id = UUID.fromString("ccd734df-8a0f-480f-83de-638c18d972a3");
+      var mensagem = MensagemHelper.gerarMensagem();
+      mensagem.setId(id);
+      when(mensagemService.buscarMensagem(id))
+          .thenReturn(mensagem);
+
+      mockMvc.perform(get("/mensagens/{id}", id).header("If-None-Match", "\"outra-versao\""))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.id").value(id.toString()));
+    }
+
+    @Test
+    void deveRetornarNaoModificado_QuandoBuscarMensagem_NaoAlteradaDesdeData() throws Exception {
+      var id = UUID.fromString("ccd734df-8a0f-480f-83de-638c18d972a3");
+      var mensagem = MensagemHelper.gerarMensagem();
+      mensagem.setId(id);
+      when(mensagemService.buscarMensagem(id))
+          .thenReturn(mensagem);
+
+      var lastModified = mockMvc.perform(get("/mensagens/{id}", id))
+          .andExpect(status().isOk())
+          .andReturn().getResponse().getHeader("Last-Modified");
+
+      mockMvc.perform(get("/mensagens/{id}", id).header("If-Modified-Since", lastModified))
+          .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void naoDeveRegistrarValidador_QuandoMensagemAlteradaDuranteBusca() throws Exception {
+      var id = UUID.fromString("ccd734df-8a0f-480f-83de-638c18d972a3");
+      var mensagem = MensagemHelper.gerarMensagem();
+      mensagem.setId(id);
+      // a escrita concorrente invalida o cache depois da leitura e antes do registro
+      when(mensagemService.buscarMensagem(id))
+          .thenAnswer(answer -> {
+            validadorCache.invalidar(Set.of(id));
+            return mensagem;
+          });
+
+      var etag = mockMvc.perform(get("/mensagens/{id}", id))
+          .andExpect(status().isOk())
+          .andReturn().getResponse().getHeader("ETag");
+
+      assertThat(validadorCache.buscarMensagem(id)).isNull();
+      mockMvc.perform(get("/mensagens/{id}", id).header("If-None-Match", etag))
+          .andExpect(status().isNotModified());
+      verify(mensagemService, times(2)).buscarMensagem(id);
+    }
   }
 
   @Nested
@@ -230,6 +584,34 @@ public class MensagemControllerTest {
     }
   }
 
+  @Nested
+  class RegistrarGostei {
+    @Test
+    void devePermitirRegistrarGostei() throws Exception {
+      var id = UUID.fromString("027e009f-0236-4a1a-ab89-72f99adc65f5");
+      when(mensagemService.buscarMensagem(id)).thenReturn(MensagemHelper.gerarMensagem());
+
+      mockMvc.perform(post("/mensagens/{id}/gostei", id))
+              .andExpect(status().isAccepted())
+              .andExpect(content().string("Gostei registrado"));
+
+      verify(mensagemService, times(1)).registrarGostei(id);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoRegistrarGostei_IdNaoExiste() throws Exception {
+      var id = UUID.fromString("027e009f-0236-4a1a-ab89-72f99adc65f5");
+      when(mensagemService.buscarMensagem(id))
+          .thenThrow(new MensagemNotFoundException("Mensagem não encontrada"));
+
+      mockMvc.perform(post("/mensagens/{id}/gostei", id))
+              .andExpect(status().isNotFound())
+              .andExpect(content().string("Mensagem não encontrada"));
+
+      verify(mensagemService, never()).registrarGostei(any(UUID.class));
+    }
+  }
+
   @Nested
   class ListarMensagens {
     @Test
@@ -253,6 +635,237 @@ public class MensagemControllerTest {
           .andExpect(jsonPath("$.totalElements").value(1));
 
     }
+
+    @Test
+    void deveRetornarNaoModificado_QuandoListarMensagens_ETagEmCache() throws Exception {
+      var mensagem = MensagemHelper.gerarMensagem();
+      mensagem.setId(UUID.randomUUID());
+      when(mensagemService.listarMensagens(any(Pageable.class)))
+          .thenAnswer(answer -> new PageImpl<>(Collections.singletonList(mensagem), answer.getArgument(0), 1));
+
+      var etag = mockMvc.perform(get("/mensagens").param("page", "0").param("size", "10"))
+          .andExpect(status().isOk())
+          .andExpect(header().exists("ETag"))
+          .andReturn().getResponse().getHeader("ETag");
+
+      mockMvc.perform(get("/mensagens").param("page", "0").param("size", "10").header("If-None-Match", etag))
+          .andExpect(status().isNotModified());
+      mockMvc.perform(get("/mensagens").param("page", "1").param("size", "10").header("If-None-Match", etag))
+          .andExpect(status().isOk());
+
+      verify(mensagemService, times(1)).listarMensagens(PageRequest.of(0, 10));
+    }
+
+    @Test
+    void deveIgnorarIfModifiedSince_QuandoListarMensagens() throws Exception {
+      var mensagem = MensagemHelper.gerarMensagem();
+      mensagem.setId(UUID.randomUUID());
+      when(mensagemService.listarMensagens(any(Pageable.class)))
+          .thenAnswer(answer -> new PageImpl<>(Collections.singletonList(mensagem), answer.getArgument(0), 1));
+
+      mockMvc.perform(get("/mensagens"))
+          .andExpect(status().isOk())
+          .andExpect(header().exists("ETag"))
+          .andExpect(header().doesNotExist("Last-Modified"));
+
+      mockMvc.perform(get("/mensagens").header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT"))
+          .andExpect(status().isOk());
+    }
+
+    @Test
+    void devePermitirListarMensagensSemTotal() throws Exception {
+      var mensagem = MensagemHelper.gerarMensagem();
+      when(mensagemService.listarMensagensSemTotal(any(Pageable.class)))
+          .thenReturn(new SliceImpl<>(List.of(mensagem), PageRequest.of(0, 1), true));
+
+      mockMvc.perform(get("/mensagens").param("size", "1").param("total", "nenhum"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.content", not(empty())))
+          .andExpect(jsonPath("$.hasNext").value(true))
+          .andExpect(jsonPath("$.totalAproximado").doesNotExist());
+
+      verify(mensagemService, never()).listarMensagens(any(Pageable.class));
+      verify(mensagemService, never()).contarMensagensAproximado();
+    }
+
+    @Test
+    void devePermitirListarMensagensComTotalAproximado() throws Exception {
+      var mensagem = MensagemHelper.gerarMensagem();
+      when(mensagemService.listarMensagensSemTotal(any(Pageable.class)))
+          .thenReturn(new SliceImpl<>(List.of(mensagem), PageRequest.of(0, 1), true));
+      when(mensagemService.contarMensagensAproximado())
+          .thenReturn(120L);
+
+      mockMvc.perform(get("/mensagens").param("size", "1").param("total", "aproximado"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.totalAproximado").value(120));
+
+      verify(mensagemService, never()).listarMensagens(any(Pageable.class));
+    }
+
+    @Test
+    void devePermitirListarMensagens_ComCamposSelecionados() throws Exception {
+      var parcial = new MensagemParcial(UUID.randomUUID(), "Jose", null, null, null, null, null);
+      when(mensagemService.listarMensagens(PageRequest.of(0, 10), EnumSet.of(CampoMensagem.ID, CampoMensagem.USUARIO)))
+          .thenReturn(new PageImpl<>(List.of(parcial)));
+
+      mockMvc.perform(get("/mensagens").param("fields", "usuario,id"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.content[0].usuario").value("Jose"))
+          .andExpect(jsonPath("$.content[0].conteudo").doesNotExist());
+
+      verify(mensagemService, never()).listarMensagens(any(Pageable.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagens_CampoDesconhecido() throws Exception {
+      mockMvc.perform(get("/mensagens").param("fields", "id,senha"))
+          .andExpect(status().isBadRequest())
+          .andExpect(content().string("Campo desconhecido: senha"));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagens_CamposSelecionadosComUsuario() throws Exception {
+      mockMvc.perform(get("/mensagens").param("usuario", "Jose").param("fields", "id"))
+          .andExpect(status().isBadRequest())
+          .andExpect(content().string("Parâmetro usuario não pode ser combinado com fields"));
+
+      verifyNoInteractions(mensagemService);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagensPorUsuario_SemTotal() throws Exception {
+      mockMvc.perform(get("/mensagens").param("usuario", "Jose").param("total", "nenhum"))
+          .andExpect(status().isBadRequest())
+          .andExpect(content().string("Parâmetro usuario não pode ser combinado com total=nenhum"));
+
+      verifyNoInteractions(mensagemService);
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagens_CamposSelecionadosSemTotal() throws Exception {
+      mockMvc.perform(get("/mensagens").param("fields", "id").param("total", "nenhum"))
+          .andExpect(status().isBadRequest())
+          .andExpect(content().string("Parâmetro fields não pode ser combinado com total=nenhum"));
+
+      verifyNoInteractions(mensagemService);
+    }
+
+    @Test
+    void devePermitirListarMensagens_ComCamposSelecionadosETotalExato() throws Exception {
+      when(mensagemService.listarMensagens(PageRequest.of(0, 10), EnumSet.of(CampoMensagem.ID)))
+          .thenReturn(new PageImpl<>(List.of()));
+
+      mockMvc.perform(get("/mensagens").param("fields", "id").param("total", "exato"))
+          .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagens_TotalInvalido() throws Exception {
+      mockMvc.perform(get("/mensagens").param("total", "qualquer"))
+          .andExpect(status().isBadRequest());
+
+      verify(mensagemService, never()).listarMensagensSemTotal(any(Pageable.class));
+    }
+
+    @Test
+    void devePermitirListarMensagensPorCursor() throws Exception {
+      var mensagem = MensagemHelper.gerarMensagem();
+      var pagina = new MensagemCursorPage(Collections.singletonList(mensagem), 1, true, "cursor");
+
+      when(mensagemService.listarMensagensPorCursor("anterior", 1))
+              .thenReturn(pagina);
+
+      mockMvc.perform(
+              get("/mensagens/cursor")
+                  .param("cursor", "anterior")
+                  .param("size", "1"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.content", not(empty())))
+          .andExpect(jsonPath("$.hasNext").value(true))
+          .andExpect(jsonPath("$.nextCursor").value("cursor"));
+
+      verify(mensagemService, never()).listarMensagens(any(Pageable.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagensPorCursor_CursorInvalido() throws Exception {
+      when(mensagemService.listarMensagensPorCursor("invalido", 10))
+              .thenThrow(new IllegalArgumentException("Cursor inválido"));
+
+      mockMvc.perform(
+              get("/mensagens/cursor")
+                  .param("cursor", "invalido"))
+          .andExpect(status().isBadRequest())
+          .andExpect(content().string("Cursor inválido"));
+    }
+
+    @Test
+    void devePermitirListarMensagensPorUsuario() throws Exception {
+      var mensagem = MensagemHelper.gerarMensagem();
+      var pagina = new MensagemCursorPage(Collections.singletonList(mensagem), 1, false, null);
+      when(mensagemService.listarMensagensPorUsuario("Jose", null, 10))
+              .thenReturn(pagina);
+
+      mockMvc.perform(get("/mensagens").param("usuario", "Jose"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.content[0].usuario").value("Jose"))
+          .andExpect(jsonPath("$.hasNext").value(false));
+
+      verify(mensagemService, never()).listarMensagens(any(Pageable.class));
+    }
+
+    @Test
+    void devePermitirBuscarMensagens() throws Exception {
+      var mensagem = MensagemHelper.gerarMensagem();
+      var pagina = new MensagemCursorPage(Collections.singletonList(mensagem), 1, true, "cursor");
+      when(mensagemService.buscarMensagens("conteudo", null, 1))
+              .thenReturn(pagina);
+
+      mockMvc.perform(
+              get("/mensagens/busca")
+                  .param("q", "conteudo")
+                  .param("size", "1"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.content", not(empty())))
+          .andExpect(jsonPath("$.nextCursor").value("cursor"));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoBuscarMensagens_ConsultaVazia() throws Exception {
+      when(mensagemService.buscarMensagens(isNull(), isNull(), eq(10)))
+              .thenThrow(new IllegalArgumentException("Consulta não pode estar vazia"));
+
+      mockMvc.perform(get("/mensagens/busca"))
+          .andExpect(status().isBadRequest())
+          .andExpect(content().string("Consulta não pode estar vazia"));
+    }
+  }
+
+  @Nested
+  class ExportarMensagens {
+    @Test
+    void devePermitirExportarMensagensEmNdjson() throws Exception {
+      var mensagem = MensagemHelper.gerarMensagem();
+      mensagem.setId(UUID.fromString("027e009f-0236-4a1a-ab89-72f99adc65f5"));
+
+      doAnswer(answer -> {
+        Consumer<Mensagem> consumidor = answer.getArgument(3);
+        consumidor.accept(mensagem);
+        consumidor.accept(mensagem);
+        return null;
+      }).when(mensagemService).exportarMensagens(eq("Jose"), isNull(), isNull(), any());
+
+      var resposta = mockMvc.perform(
+              get("/mensagens/export")
+                  .param("usuario", "Jose"))
+          .andExpect(status().isOk())
+          .andExpect(content().contentTypeCompatibleWith(MensagemController.APPLICATION_NDJSON_VALUE))
+          .andExpect(content().string(containsString("027e009f-0236-4a1a-ab89-72f99adc65f5")))
+          .andReturn().getResponse().getContentAsString();
+
+      assertThat(resposta.split("\n")).hasSize(2);
+    }
   }
 
   public static String asJsonString(final Object object) throws Exception {
@@ -0,0 +1,68 @@
+package br.com.fiap.api.controller;
+
+import br.com.fiap.api.api.config.MensagemFeedProperties;
+import br.com.fiap.api.api.controller.MensagemFeedController;
+import br.com.fiap.api.api.feed.FeedMensagens;
+import br.com.fiap.api.api.feed.PoliticaDescarte;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class MensagemFeedControllerTest {
+  private MockMvc mockMvc;
+
+  @Mock
+  private FeedMensagens feedMensagens;
+
+  AutoCloseable mock;
+
+  @BeforeEach
+  void setup() {
+    mock = MockitoAnnotations.openMocks(this);
+    var controller = new MensagemFeedController(
+        feedMensagens, new MensagemFeedProperties(16, 8, 1, Duration.ofMinutes(1)));
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mock.close();
+  }
+
+  @Test
+  void devePermitirAssinarFeed_RetomandoDoLastEventId() throws Exception {
+    // Act
+    mockMvc.perform(get("/mensagens/feed")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .header(MensagemFeedController.LAST_EVENT_ID, "1700000000000-41")
+            .param("descarte", "desconectar"))
+        .andExpect(request().asyncStarted());
+
+    // Assert
+    verify(feedMensagens, times(1))
+        .assinar(any(), eq("1700000000000-41"), eq(PoliticaDescarte.DESCONECTAR));
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoPoliticaDescarteInvalida() throws Exception {
+    // Act & Assert
+    mockMvc.perform(get("/mensagens/feed")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .param("descarte", "ignorar"))
+        .andExpect(status().isBadRequest());
+    verifyNoInteractions(feedMensagens);
+  }
+}
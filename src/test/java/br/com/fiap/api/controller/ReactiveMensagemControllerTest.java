@@ -0,0 +1,155 @@
+package br.com.fiap.api.controller;
+
+import br.com.fiap.api.api.controller.ReactiveMensagemController;
+import br.com.fiap.api.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.service.ReactiveMensagemService;
+import br.com.fiap.api.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveMensagemControllerTest {
+  private WebTestClient webTestClient;
+
+  @Mock
+  private ReactiveMensagemService mensagemService;
+
+  AutoCloseable mock;
+
+  @BeforeEach
+  void setup() {
+    mock = MockitoAnnotations.openMocks(this);
+    webTestClient = WebTestClient.bindToController(new ReactiveMensagemController(mensagemService)).build();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mock.close();
+  }
+
+  @Test
+  void devePermitirRegistrarMensagem() {
+    var mensagem = MensagemHelper.gerarMensagem();
+    when(mensagemService.registrarMensagem(any(Mensagem.class)))
+        .thenAnswer(answer -> {
+          Mensagem mensagemRecebida = answer.getArgument(0);
+          mensagemRecebida.setId(UUID.randomUUID());
+          return Mono.just(mensagemRecebida);
+        });
+
+    webTestClient.post()
+        .uri("/mensagens")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(mensagem)
+        .exchange()
+        .expectStatus().isCreated()
+        .expectBody(String.class)
+        .value(matchesJsonSchemaInClasspath("schemas/mensagem.schema.json"));
+  }
+
+  @Test
+  void devePermitirBuscarMensagem() {
+    var id = UUID.fromString("ccd734df-8a0f-480f-83de-638c18d972a3");
+    var mensagem = MensagemHelper.gerarMensagem();
+    mensagem.setId(id);
+    when(mensagemService.buscarMensagem(id)).thenReturn(Mono.just(mensagem));
+
+    webTestClient.get()
+        .uri("/mensagens/{id}", id)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class)
+        .value(matchesJsonSchemaInClasspath("schemas/mensagem.schema.json"));
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() {
+    var id = UUID.fromString("ccd734df-8a0f-480f-83de-638c18d972a3");
+    when(mensagemService.buscarMensagem(id))
+        .thenReturn(Mono.error(new MensagemNotFoundException("Mensagem não encontrada")));
+
+    webTestClient.get()
+        .uri("/mensagens/{id}", id)
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoBuscarMensagem_IdInvalido() {
+    webTestClient.get()
+        .uri("/mensagens/{id}", "2")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody(String.class).isEqualTo("Id inválido");
+
+    verifyNoInteractions(mensagemService);
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoAlterarMensagem_IdInvalido() {
+    webTestClient.put()
+        .uri("/mensagens/{id}", "2")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(MensagemHelper.gerarMensagem())
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    verifyNoInteractions(mensagemService);
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoRemoverMensagem_IdInvalido() {
+    webTestClient.delete()
+        .uri("/mensagens/{id}", "2")
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    verifyNoInteractions(mensagemService);
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoRemoverMensagem_IdNaoExiste() {
+    var id = UUID.fromString("027e009f-0236-4a1a-ab89-72f99adc65f5");
+    when(mensagemService.removerMensagem(id))
+        .thenReturn(Mono.error(new MensagemNotFoundException("Mensagem não encontrada")));
+
+    webTestClient.delete()
+        .uri("/mensagens/{id}", id)
+        .exchange()
+        .expectStatus().isNotFound()
+        .expectBody(String.class).isEqualTo("Mensagem não encontrada");
+  }
+
+  @Test
+  void devePermitirListarMensagens() {
+    var mensagem = MensagemHelper.gerarMensagem();
+    mensagem.setId(UUID.randomUUID());
+    var page = new PageImpl<>(Collections.singletonList(mensagem), PageRequest.of(0, 10), 1);
+    when(mensagemService.listarMensagens(any(Pageable.class))).thenReturn(Mono.just(page));
+
+    webTestClient.get()
+        .uri("/mensagens?page=0&size=10")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(String.class)
+        .value(matchesJsonSchemaInClasspath("schemas/mensagem.page.schema.json"));
+
+    verify(mensagemService, times(1)).listarMensagens(PageRequest.of(0, 10));
+  }
+}
@@ -0,0 +1,53 @@
+package br.com.fiap.api.feed;
+
+import br.com.fiap.api.api.feed.AnelEventos;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnelEventosTest {
+
+  @Test
+  void devePermitirLerEventosPublicados_PelaSequencia() {
+    var anel = new AnelEventos<String>(4);
+
+    var primeira = anel.publicar("a");
+    var segunda = anel.publicar("b");
+
+    assertThat(primeira).isZero();
+    assertThat(segunda).isEqualTo(1);
+    assertThat(anel.ler(0)).isEqualTo("a");
+    assertThat(anel.ler(1)).isEqualTo("b");
+    assertThat(anel.ultimaSequencia()).isEqualTo(1);
+    assertThat(anel.primeiraDisponivel()).isZero();
+  }
+
+  @Test
+  void deveRetornarNulo_QuandoSequenciaAindaNaoPublicada() {
+    var anel = new AnelEventos<String>(4);
+
+    assertThat(anel.ultimaSequencia()).isEqualTo(-1);
+    assertThat(anel.ler(0)).isNull();
+  }
+
+  @Test
+  void deveSobrescreverEventoMaisAntigo_QuandoDarAVolta() {
+    var anel = new AnelEventos<String>(4);
+    for (var evento : new String[] {"a", "b", "c", "d", "e", "f"}) {
+      anel.publicar(evento);
+    }
+
+    assertThat(anel.ler(0)).isNull();
+    assertThat(anel.ler(1)).isNull();
+    assertThat(anel.ler(2)).isEqualTo("c");
+    assertThat(anel.ler(5)).isEqualTo("f");
+    assertThat(anel.primeiraDisponivel()).isEqualTo(2);
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoCapacidadeInvalida() {
+    assertThatThrownBy(() -> new AnelEventos<String>(0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
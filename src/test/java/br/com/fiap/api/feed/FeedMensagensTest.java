@@ -0,0 +1,202 @@
+package br.com.fiap.api.feed;
+
+import br.com.fiap.api.api.config.MensagemFeedProperties;
+import br.com.fiap.api.api.event.MensagemEvento;
+import br.com.fiap.api.api.feed.FeedMensagens;
+import br.com.fiap.api.api.feed.PoliticaDescarte;
+import br.com.fiap.api.utils.MensagemHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+class FeedMensagensTest {
+  private FeedMensagens feedMensagens;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    feedMensagens = new FeedMensagens(
+        new MensagemFeedProperties(8, 4, 2, Duration.ofMinutes(1)), meterRegistry);
+    feedMensagens.iniciar();
+  }
+
+  @AfterEach
+  void tearDown() {
+    feedMensagens.encerrar();
+  }
+
+  @Test
+  void deveEntregarEventosPublicados_AposAssinar() throws IOException {
+    var emitter = new EmitterCapturado();
+    feedMensagens.assinar(emitter, null, PoliticaDescarte.PULAR);
+    var mensagem = MensagemHelper.gerarMensagem();
+    mensagem.setId(UUID.randomUUID());
+    var removida = UUID.randomUUID();
+
+    feedMensagens.publicar(MensagemEvento.criada(mensagem));
+    feedMensagens.publicar(MensagemEvento.removida(removida));
+
+    aguardar(() -> emitter.eventos.size() == 2);
+    assertThat(emitter.eventos.get(0).nome()).isEqualTo("criada");
+    assertThat(emitter.eventos.get(0).dados()).isEqualTo(mensagem);
+    assertThat(emitter.eventos.get(1).nome()).isEqualTo("removida");
+    assertThat(emitter.eventos.get(1).dados()).isEqualTo(Map.of("id", removida));
+    assertThat(meterRegistry.get(FeedMensagens.GAUGE_ASSINANTES).gauge().value()).isEqualTo(1.0);
+  }
+
+  @Test
+  void deveRetomarDoEventoSeguinte_QuandoInformadoLastEventId() throws IOException {
+    var primeiro = new EmitterCapturado();
+    feedMensagens.assinar(primeiro, null, PoliticaDescarte.PULAR);
+    publicar(3);
+    aguardar(() -> primeiro.eventos.size() == 3);
+
+    var reconectado = new EmitterCapturado();
+    feedMensagens.assinar(reconectado, primeiro.eventos.get(0).id(), PoliticaDescarte.PULAR);
+
+    aguardar(() -> reconectado.eventos.size() == 2);
+    assertThat(reconectado.eventos).extracting(Evento::id)
+        .containsExactly(primeiro.eventos.get(1).id(), primeiro.eventos.get(2).id());
+  }
+
+  @Test
+  void deveEnviarLacuna_QuandoLastEventIdDeOutraExecucao() throws IOException {
+    publicar(6);
+
+    var emitter = new EmitterCapturado();
+    feedMensagens.assinar(emitter, "1-0", PoliticaDescarte.PULAR);
+
+    // retoma do mais antigo dentro do atraso máximo: sequências 2 a 5
+    aguardar(() -> emitter.eventos.size() == 5);
+    assertThat(emitter.eventos.get(0).nome()).isEqualTo(FeedMensagens.EVENTO_LACUNA);
+    assertThat(emitter.eventos.get(0).dados()).isEqualTo(Map.of("descartados", -1L));
+    assertThat(emitter.eventos.get(4).id()).endsWith("-5");
+  }
+
+  @Test
+  void devePularEventosAntigos_QuandoAssinanteLentoEPoliticaPular() throws IOException {
+    var emitter = new EmitterCapturado();
+    emitter.bloquearPrimeiroEnvio();
+    feedMensagens.assinar(emitter, null, PoliticaDescarte.PULAR);
+
+    publicar(1);
+    aguardar(() -> emitter.eventos.size() == 1);
+    publicar(9);
+    emitter.liberar();
+
+    // sequência 0 entregue, 1 a 5 descartadas e 6 a 9 dentro do atraso máximo
+    aguardar(() -> emitter.eventos.size() == 6);
+    assertThat(emitter.eventos.get(0).id()).endsWith("-0");
+    assertThat(emitter.eventos.get(1).nome()).isEqualTo(FeedMensagens.EVENTO_LACUNA);
+    assertThat(emitter.eventos.get(1).dados()).isEqualTo(Map.of("descartados", 5L));
+    assertThat(emitter.eventos.get(2).id()).endsWith("-6");
+    assertThat(emitter.eventos.get(5).id()).endsWith("-9");
+    assertThat(meterRegistry.get(FeedMensagens.COUNTER_DESCARTES).tag("politica", "pular")
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void deveDesconectar_QuandoAssinanteLentoEPoliticaDesconectar() throws IOException {
+    var emitter = new EmitterCapturado();
+    emitter.bloquearPrimeiroEnvio();
+    feedMensagens.assinar(emitter, null, PoliticaDescarte.DESCONECTAR);
+
+    publicar(1);
+    aguardar(() -> emitter.eventos.size() == 1);
+    publicar(9);
+    emitter.liberar();
+
+    aguardar(() -> emitter.completo);
+    assertThat(emitter.eventos).hasSize(1);
+    assertThat(meterRegistry.get(FeedMensagens.GAUGE_ASSINANTES).gauge().value()).isZero();
+  }
+
+  private void publicar(int quantidade) {
+    for (int i = 0; i < quantidade; i++) {
+      var mensagem = MensagemHelper.gerarMensagem();
+      mensagem.setId(UUID.randomUUID());
+      feedMensagens.publicar(MensagemEvento.criada(mensagem));
+    }
+  }
+
+  private static void aguardar(BooleanSupplier condicao) {
+    var limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+    while (!condicao.getAsBoolean()) {
+      if (System.nanoTime() > limite) {
+        fail("Condição não atendida em 5 segundos");
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  private record Evento(String id, String nome, Object dados) {
+  }
+
+  /**
+   * Guarda os eventos enviados em vez de escrevê-los na resposta.
+   */
+  private static class EmitterCapturado extends SseEmitter {
+    private final List<Evento> eventos = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch bloqueio;
+    private volatile boolean completo;
+
+    void bloquearPrimeiroEnvio() {
+      bloqueio = new CountDownLatch(1);
+    }
+
+    void liberar() {
+      bloqueio.countDown();
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      String id = null;
+      String nome = null;
+      Object dados = null;
+      for (var parte : builder.build()) {
+        if (parte.getData() instanceof String texto && (texto.contains("id:") || texto.contains("event:"))) {
+          for (var linha : texto.split("\n")) {
+            if (linha.startsWith("id:")) {
+              id = linha.substring(3);
+            } else if (linha.startsWith("event:")) {
+              nome = linha.substring(6);
+            }
+          }
+        } else if (!(parte.getData() instanceof String)) {
+          dados = parte.getData();
+        }
+      }
+      eventos.add(new Evento(id, nome, dados));
+      var espera = bloqueio;
+      if (espera != null) {
+        try {
+          espera.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        bloqueio = null;
+      }
+    }
+
+    @Override
+    public void complete() {
+      completo = true;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package br.com.fiap.api.id;
+
+import br.com.fiap.api.api.id.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+  private static final Instant INSTANTE = Instant.parse("2024-01-15T00:00:00.100Z");
+
+  @Test
+  void deveGerarUuidVersao7() {
+    var generator = new UuidV7Generator(Clock.fixed(INSTANTE, ZoneOffset.UTC));
+
+    var id = generator.gerarId();
+
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+    assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(INSTANTE.toEpochMilli());
+  }
+
+  @Test
+  void deveGerarIdsCrescentes_QuandoMesmoMilissegundo() {
+    var generator = new UuidV7Generator(Clock.fixed(INSTANTE, ZoneOffset.UTC));
+
+    var anterior = generator.gerarId();
+    // mais ids do que o contador de 12 bits comporta, forçando o avanço do timestamp lógico
+    for (int i = 0; i < 10_000; i++) {
+      var atual = generator.gerarId();
+      assertThat(atual.getMostSignificantBits()).isGreaterThan(anterior.getMostSignificantBits());
+      anterior = atual;
+    }
+  }
+
+  @Test
+  void deveGerarIdsUnicos_QuandoAcessoConcorrente() throws Exception {
+    var generator = new UuidV7Generator();
+    Set<UUID> ids = ConcurrentHashMap.newKeySet();
+    var threads = 8;
+    var idsPorThread = 20_000;
+
+    var executor = Executors.newFixedThreadPool(threads);
+    try {
+      var tarefas = new ArrayList<Future<?>>();
+      for (int t = 0; t < threads; t++) {
+        tarefas.add(executor.submit(() -> {
+          for (int i = 0; i < idsPorThread; i++) {
+            ids.add(generator.gerarId());
+          }
+        }));
+      }
+      for (var tarefa : tarefas) {
+        tarefa.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertThat(ids).hasSize(threads * idsPorThread);
+  }
+}
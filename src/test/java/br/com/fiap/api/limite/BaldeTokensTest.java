@@ -0,0 +1,115 @@
+package br.com.fiap.api.limite;
+
+import br.com.fiap.api.api.limite.BaldeTokens;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BaldeTokensTest {
+  private static final long SEGUNDO = 1_000_000_000L;
+
+  @Test
+  void devePermitirConsumirAteACapacidade_EDepoisInformarEspera() {
+    // Arrange
+    var balde = new BaldeTokens(3, 1, 0);
+
+    // Act & Assert
+    assertThat(balde.tentarConsumir(1, 0)).isZero();
+    assertThat(balde.tentarConsumir(1, 0)).isZero();
+    assertThat(balde.tentarConsumir(1, 0)).isZero();
+    assertThat(balde.tentarConsumir(1, 0)).isEqualTo(SEGUNDO);
+  }
+
+  @Test
+  void deveRecarregarTokens_ComOPassarDoTempo() {
+    // Arrange
+    var balde = new BaldeTokens(2, 2, 0);
+    balde.tentarConsumir(2, 0);
+
+    // Act & Assert
+    assertThat(balde.tentarConsumir(1, SEGUNDO / 4)).isPositive();
+    assertThat(balde.tentarConsumir(1, SEGUNDO / 2)).isZero();
+    assertThat(balde.cheio(SEGUNDO / 2)).isFalse();
+    assertThat(balde.cheio(3 * SEGUNDO / 2)).isTrue();
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoTokensAcimaDaCapacidade() {
+    var balde = new BaldeTokens(5, 1, 0);
+
+    assertThatThrownBy(() -> balde.tentarConsumir(50, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(balde.tentarConsumir(5, 0)).isZero();
+  }
+
+  @Test
+  void deveVoltarATerTokens_QuandoConsumoDevolvido() {
+    // Arrange
+    var balde = new BaldeTokens(2, 1, 0);
+    balde.tentarConsumir(2, 0);
+
+    // Act
+    balde.devolver(2);
+
+    // Assert
+    assertThat(balde.cheio(0)).isTrue();
+    assertThat(balde.tentarConsumir(2, 0)).isZero();
+  }
+
+  @Test
+  void deveRecusarConsumo_QuandoBaldeDescartado() {
+    // Arrange
+    var balde = new BaldeTokens(2, 1, 0);
+
+    // Act
+    var descartado = balde.descartar(0);
+
+    // Assert: quem ainda tinha o balde em mãos precisa buscar outro
+    assertThat(descartado).isTrue();
+    assertThat(balde.tentarConsumir(1, 0)).isEqualTo(BaldeTokens.DESCARTADO);
+  }
+
+  @Test
+  void naoDeveDescartarBalde_QuandoConsumoChegouAntes() {
+    // Arrange
+    var balde = new BaldeTokens(2, 1, 0);
+    balde.tentarConsumir(1, 0);
+
+    // Act & Assert
+    assertThat(balde.descartar(0)).isFalse();
+    assertThat(balde.tentarConsumir(1, 0)).isZero();
+  }
+
+  @Test
+  void deveLiberarExatamenteACapacidade_QuandoConsumoConcorrente() {
+    // Arrange
+    var balde = new BaldeTokens(100, 0.001, 0);
+    var liberadas = new AtomicInteger();
+
+    // Act
+    var tarefas = IntStream.range(0, 8)
+        .mapToObj(i -> CompletableFuture.runAsync(() -> {
+          for (int j = 0; j < 100; j++) {
+            if (balde.tentarConsumir(1, 0) == 0) {
+              liberadas.incrementAndGet();
+            }
+          }
+        }))
+        .toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(tarefas).join();
+
+    // Assert
+    assertThat(liberadas).hasValue(100);
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoCapacidadeInvalida() {
+    assertThatThrownBy(() -> new BaldeTokens(0, 1, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
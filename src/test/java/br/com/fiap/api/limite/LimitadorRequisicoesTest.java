@@ -0,0 +1,78 @@
+package br.com.fiap.api.limite;
+
+import br.com.fiap.api.api.config.MensagemLimiteProperties;
+import br.com.fiap.api.api.limite.LimitadorRequisicoes;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimitadorRequisicoesTest {
+  private LimitadorRequisicoes limitador;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    limitador = new LimitadorRequisicoes(
+        new MensagemLimiteProperties(4, 2, Map.of("registrar", new MensagemLimiteProperties.Limite(2, 0.01))),
+        meterRegistry);
+  }
+
+  @Test
+  void deveLimitarCadaUsuarioSeparadamente() {
+    // Act
+    limitador.tentarConsumir("registrar", "ana", 2);
+    var anaExcedida = limitador.tentarConsumir("registrar", "ana", 1);
+    var jose = limitador.tentarConsumir("registrar", "jose", 1);
+
+    // Assert
+    assertThat(anaExcedida).isPositive();
+    assertThat(jose).isZero();
+    assertThat(meterRegistry.get(LimitadorRequisicoes.COUNTER_REJEICOES).tag("endpoint", "registrar")
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void naoDeveCobrarNenhumUsuario_QuandoUmBaldeDoLoteRecusar() {
+    // Arrange
+    limitador.tentarConsumir("registrar", "ana", 2);
+    var lote = new LinkedHashMap<String, Integer>();
+    lote.put("jose", 2);
+    lote.put("ana", 1);
+
+    // Act
+    var espera = limitador.tentarConsumir("registrar", lote);
+
+    // Assert: o consumo de jose foi devolvido
+    assertThat(espera).isPositive();
+    assertThat(limitador.tentarConsumir("registrar", "jose", 2)).isZero();
+    assertThat(meterRegistry.get(LimitadorRequisicoes.COUNTER_REJEICOES).tag("endpoint", "registrar")
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void naoDeveLimitar_QuandoEndpointSemLimiteConfigurado() {
+    assertThat(limitador.capacidade("lote")).isEqualTo(Integer.MAX_VALUE);
+    for (int i = 0; i < 10; i++) {
+      assertThat(limitador.tentarConsumir("lote", "ana", 1000)).isZero();
+    }
+  }
+
+  @Test
+  void deveManterMemoriaLimitada_QuandoMuitosUsuarios() {
+    // Act
+    for (int i = 0; i < 1000; i++) {
+      limitador.tentarConsumir("registrar", "usuario-" + i, 1);
+    }
+
+    // Assert: 4 faixas com até 2 baldes cada; os excedentes dividem o balde de transbordo
+    assertThat(meterRegistry.get(LimitadorRequisicoes.GAUGE_BALDES).gauge().value()).isLessThanOrEqualTo(8.0);
+    assertThat(limitador.tentarConsumir("registrar", "usuario-novo", 1)).isPositive();
+  }
+}
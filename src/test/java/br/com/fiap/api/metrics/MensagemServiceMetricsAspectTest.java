@@ -0,0 +1,104 @@
+package br.com.fiap.api.metrics;
+
+import br.com.fiap.api.api.exception.IdInvalidoException;
+import br.com.fiap.api.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.api.metrics.MensagemServiceMetricsAspect;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.service.MensagemService;
+import br.com.fiap.api.utils.MensagemHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+class MensagemServiceMetricsAspectTest {
+  private SimpleMeterRegistry meterRegistry;
+  private MensagemService mensagemService;
+
+  @Mock
+  private MensagemService mensagemServiceReal;
+
+  AutoCloseable mock;
+
+  @BeforeEach
+  void setup() {
+    mock = MockitoAnnotations.openMocks(this);
+    meterRegistry = new SimpleMeterRegistry();
+    var proxyFactory = new AspectJProxyFactory(mensagemServiceReal);
+    proxyFactory.addAspect(new MensagemServiceMetricsAspect(meterRegistry));
+    mensagemService = proxyFactory.getProxy();
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mock.close();
+  }
+
+  @Test
+  void deveRegistrarTempo_QuandoBuscarMensagem() {
+    var id = UUID.randomUUID();
+    Mensagem mensagem = MensagemHelper.gerarMensagem();
+    when(mensagemServiceReal.buscarMensagem(id)).thenReturn(mensagem);
+
+    mensagemService.buscarMensagem(id);
+
+    var timer = meterRegistry.get(MensagemServiceMetricsAspect.TIMER_SERVICO)
+        .tag("operacao", "buscarMensagem")
+        .tag("resultado", "sucesso")
+        .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  void deveRegistrarTempo_QuandoMensagemNaoEncontrada() {
+    var id = UUID.randomUUID();
+    when(mensagemServiceReal.buscarMensagem(id))
+        .thenThrow(new MensagemNotFoundException("Mensagem não encontrada"));
+
+    assertThatThrownBy(() -> mensagemService.buscarMensagem(id))
+        .isInstanceOf(MensagemNotFoundException.class);
+
+    var timer = meterRegistry.get(MensagemServiceMetricsAspect.TIMER_SERVICO)
+        .tag("operacao", "buscarMensagem")
+        .tag("resultado", "nao_encontrada")
+        .timer();
+    assertThat(timer.count()).isEqualTo(1);
+  }
+
+  @Test
+  void deveRegistrarTempo_QuandoParametroInvalido() {
+    when(mensagemServiceReal.listarMensagensPorCursor("invalido", 10))
+        .thenThrow(new IllegalArgumentException("Cursor inválido"));
+
+    assertThatThrownBy(() -> mensagemService.listarMensagensPorCursor("invalido", 10))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(meterRegistry.get(MensagemServiceMetricsAspect.TIMER_SERVICO)
+        .tag("resultado", "requisicao_invalida")
+        .timer()
+        .count()).isEqualTo(1);
+  }
+
+  @Test
+  void deveRegistrarTempo_QuandoIdInvalido() {
+    var id = UUID.randomUUID();
+    when(mensagemServiceReal.buscarMensagem(id)).thenThrow(new IdInvalidoException("Id inválido"));
+
+    assertThatThrownBy(() -> mensagemService.buscarMensagem(id))
+        .isInstanceOf(IdInvalidoException.class);
+
+    assertThat(meterRegistry.get(MensagemServiceMetricsAspect.TIMER_SERVICO)
+        .tag("resultado", "id_invalido")
+        .timer()
+        .count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,193 @@
+package br.com.fiap.api.particao;
+
+import br.com.fiap.api.api.config.MensagemParticionamentoProperties;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.particao.ParticoesMensagem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static br.com.fiap.api.api.config.ApplicationConfig.CACHE_MENSAGENS;
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_PAGINAS_MENSAGENS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ParticoesMensagemTest {
+  private static final Clock OUTUBRO_2026 = Clock.fixed(
+      LocalDateTime.of(2026, 10, 18, 12, 0).toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Mock
+  private Cache cache;
+
+  @Mock
+  private org.hibernate.Cache cacheHibernate;
+
+  private ConcurrentMapCacheManager cacheManager;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  AutoCloseable mock;
+
+  @BeforeEach
+  void setup() {
+    mock = MockitoAnnotations.openMocks(this);
+    cacheManager = new ConcurrentMapCacheManager(CACHE_MENSAGENS);
+    meterRegistry = new SimpleMeterRegistry();
+    when(entityManagerFactory.getCache()).thenReturn(cache);
+    when(cache.unwrap(org.hibernate.Cache.class)).thenReturn(cacheHibernate);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mock.close();
+  }
+
+  private ParticoesMensagem particoes(int mesesFuturos, int retencaoMeses) {
+    return new ParticoesMensagem(jdbcTemplate,
+        new MensagemParticionamentoProperties(mesesFuturos, retencaoMeses),
+        entityManagerFactory, cacheManager, meterRegistry, OUTUBRO_2026);
+  }
+
+  @Test
+  void deveCriarParticaoDoMesAtualEDosMesesFuturos() {
+    // Act
+    particoes(2, 12).criarParticoesFuturas();
+
+    // Assert
+    verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS mensagem_p202610 PARTITION OF mensagem "
+        + "FOR VALUES FROM ('2026-10-01') TO ('2026-11-01')");
+    verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS mensagem_p202611 PARTITION OF mensagem "
+        + "FOR VALUES FROM ('2026-11-01') TO ('2026-12-01')");
+    verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS mensagem_p202612 PARTITION OF mensagem "
+        + "FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')");
+    verify(jdbcTemplate, times(3)).execute(startsWith("CREATE TABLE"));
+  }
+
+  @Test
+  void deveContinuarCriando_QuandoUmaParticaoFalhar() {
+    // Arrange
+    doThrow(new DataIntegrityViolationException("linhas na partição padrão"))
+        .when(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS mensagem_p202610 "));
+
+    // Act
+    particoes(1, 12).criarParticoesFuturas();
+
+    // Assert
+    verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS mensagem_p202611 "));
+  }
+
+  @Test
+  void deveRemoverApenasParticoesInteiramenteForaDaRetencao() {
+    // Arrange
+    cacheManager.getCache(CACHE_MENSAGENS).put("id", "mensagem");
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+        "mensagem_p202508", "mensagem_p202509", "mensagem_p202510", "mensagem_p202610", "mensagem_padrao"));
+
+    // Act
+    var removidas = particoes(3, 12).removerParticoesExpiradas();
+
+    // Assert
+    assertThat(removidas).containsExactly("mensagem_p202508", "mensagem_p202509");
+    verify(jdbcTemplate).execute("DROP TABLE IF EXISTS mensagem_p202508");
+    verify(jdbcTemplate).execute("DROP TABLE IF EXISTS mensagem_p202509");
+    verify(jdbcTemplate, times(2)).execute(startsWith("DROP TABLE"));
+    verify(cache).evict(Mensagem.class);
+    verify(cacheHibernate).evictQueryRegion(REGIAO_PAGINAS_MENSAGENS);
+    assertThat(cacheManager.getCache(CACHE_MENSAGENS).get("id")).isNull();
+  }
+
+  @Test
+  void naoDeveInvalidarCaches_QuandoNenhumaParticaoExpirou() {
+    // Arrange
+    when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+        .thenReturn(List.of("mensagem_p202610", "mensagem_padrao"));
+
+    // Act
+    var removidas = particoes(3, 12).removerParticoesExpiradas();
+
+    // Assert
+    assertThat(removidas).isEmpty();
+    verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+    verify(cache, never()).evict(Mensagem.class);
+  }
+
+  @Test
+  void naoDeveRemoverParticoes_QuandoRetencaoDesabilitada() {
+    // Act
+    var removidas = particoes(3, 0).removerParticoesExpiradas();
+
+    // Assert
+    assertThat(removidas).isEmpty();
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoTabelaMensagemNaoParticionada() {
+    // Arrange
+    when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class))).thenReturn(0);
+
+    // Act & Assert
+    assertThatThrownBy(() -> particoes(3, 0).start())
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("não é particionada");
+    verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE"));
+  }
+
+  @Test
+  void deveCriarParticoesNaSubida_QuandoTabelaMensagemParticionada() {
+    // Arrange
+    when(jdbcTemplate.queryForObject(contains("pg_partitioned_table"), eq(Integer.class))).thenReturn(1);
+    var particoes = particoes(0, 0);
+
+    // Act
+    particoes.start();
+
+    // Assert
+    assertThat(particoes.isRunning()).isTrue();
+    verify(jdbcTemplate).execute(startsWith("CREATE TABLE IF NOT EXISTS mensagem_p202610 "));
+  }
+
+  @Test
+  void devePublicarLinhasDaParticaoPadrao() {
+    // Arrange
+    when(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mensagem_padrao", Long.class)).thenReturn(7L);
+    var particoes = particoes(3, 0);
+
+    // Act
+    var linhas = particoes.verificarParticaoPadrao();
+
+    // Assert
+    assertThat(linhas).isEqualTo(7);
+    assertThat(meterRegistry.get(ParticoesMensagem.GAUGE_PADRAO).gauge().value()).isEqualTo(7.0);
+  }
+}
@@ -0,0 +1,141 @@
+package br.com.fiap.api.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gatling.javaapi.core.Assertion;
+import io.gatling.javaapi.core.OpenInjectionStep;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+import static br.com.fiap.api.performance.ConfiguracaoSimulacao.*;
+import static br.com.fiap.api.performance.MensagemRequests.*;
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.http;
+
+/**
+ * Carga mista de leitura, listagem, escrita e alteração com SLOs de p95/p99 por tipo de
+ * requisição. Uma asserção violada faz o {@code gatling:test} falhar, então o profile
+ * {@code performance-slo} quebra o build:
+ * <pre>
+ * mvn verify -P performance-slo -DbaseUrl=http://localhost:8080 -Dperfil=stress -Dtaxa=50
+ * </pre>
+ * Perfis ({@code -Dperfil}): {@code carga} (rampa e taxa constante), {@code soak} (taxa
+ * constante por longo período), {@code stress} (degraus crescentes) e {@code spike}
+ * (pico súbito entre dois períodos de taxa constante).
+ */
+public class CargaMistaSimulation extends Simulation {
+  private static final int TAMANHO_PAGINA = 10;
+
+  private final List<String> mensagensExistentes = new CopyOnWriteArrayList<>();
+
+  private final HttpProtocolBuilder httpProtocol =
+      http.baseUrl(BASE_URL)
+          .header("Content-Type", "application/json");
+
+  // lido a cada usuário, depois que o before() registrou as mensagens iniciais
+  private final Iterator<Map<String, Object>> mensagemAleatoria =
+      Stream.generate(() -> Map.<String, Object>of(
+              "mensagemId", mensagensExistentes.get(ThreadLocalRandom.current().nextInt(mensagensExistentes.size())),
+              "pagina", ThreadLocalRandom.current().nextInt(Math.max(1, mensagensExistentes.size() / TAMANHO_PAGINA))))
+          .iterator();
+
+  ScenarioBuilder cenarioCargaMista = scenario("carga mista")
+      .feed(mensagemAleatoria)
+      .randomSwitch().on(
+          percent(PERCENTUAL_LEITURA).then(exec(buscarMensagem())),
+          percent(PERCENTUAL_LISTAGEM).then(exec(listarMensagens())),
+          percent(PERCENTUAL_ESCRITA).then(exec(adicionarMensagem())),
+          percent(PERCENTUAL_ALTERACAO).then(exec(alterarMensagem()))
+      );
+
+  {
+    setUp(cenarioCargaMista.injectOpen(injecao()))
+        .protocols(httpProtocol)
+        .assertions(slos());
+  }
+
+  @Override
+  public void before() {
+    var mensagens = new ArrayList<Map<String, String>>();
+    for (int i = 0; i < MENSAGENS_INICIAIS; i++) {
+      mensagens.add(Map.of("usuario", "carga", "conteudo", "mensagem inicial " + i));
+    }
+    try {
+      var mapper = new ObjectMapper();
+      var request = HttpRequest.newBuilder(URI.create(BASE_URL + "/mensagens/lote"))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(mensagens)))
+          .build();
+      var response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 201) {
+        throw new IllegalStateException("Falha ao registrar mensagens iniciais: " + response.statusCode());
+      }
+      for (JsonNode item : mapper.readTree(response.body()).get("itens")) {
+        mensagensExistentes.add(item.get("id").asText());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (IOException e) {
+      throw new IllegalStateException("Falha ao registrar mensagens iniciais", e);
+    }
+  }
+
+  private static OpenInjectionStep[] injecao() {
+    return switch (PERFIL) {
+      case "carga" -> new OpenInjectionStep[] {
+          rampUsersPerSec(1).to(TAXA).during(RAMPA),
+          constantUsersPerSec(TAXA).during(DURACAO)
+      };
+      case "soak" -> new OpenInjectionStep[] {
+          rampUsersPerSec(1).to(TAXA).during(RAMPA),
+          constantUsersPerSec(TAXA).during(DURACAO_SOAK)
+      };
+      case "stress" -> new OpenInjectionStep[] {
+          incrementUsersPerSec(PASSO_STRESS)
+              .times(NIVEIS_STRESS)
+              .eachLevelLasting(DURACAO_NIVEL)
+              .separatedByRampsLasting(RAMPA_NIVEL)
+              .startingFrom(TAXA)
+      };
+      case "spike" -> new OpenInjectionStep[] {
+          constantUsersPerSec(TAXA).during(DURACAO),
+          stressPeakUsers(USUARIOS_PICO).during(DURACAO_PICO),
+          constantUsersPerSec(TAXA).during(DURACAO)
+      };
+      default -> throw new IllegalArgumentException("Perfil desconhecido: " + PERFIL);
+    };
+  }
+
+  private static List<Assertion> slos() {
+    var assertions = new ArrayList<Assertion>();
+    assertions.addAll(slo("buscar", BUSCAR, 50, 100));
+    assertions.addAll(slo("listar", LISTAR, 100, 200));
+    assertions.addAll(slo("adicionar", ADICIONAR, 100, 200));
+    assertions.addAll(slo("alterar", ALTERAR, 100, 200));
+    assertions.add(global().failedRequests().percent().lt(PERCENTUAL_MAXIMO_FALHAS));
+    return assertions;
+  }
+
+  private static List<Assertion> slo(String tipo, String request, int p95, int p99) {
+    return List.of(
+        details(request).responseTime().percentile(95.0).lt(ConfiguracaoSimulacao.slo(tipo, 95, p95)),
+        details(request).responseTime().percentile(99.0).lt(ConfiguracaoSimulacao.slo(tipo, 99, p99))
+    );
+  }
+}
@@ -0,0 +1,67 @@
+package br.com.fiap.api.performance;
+
+import io.gatling.javaapi.core.ActionBuilder;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Mantém um número fixo de usuários simultâneos (modelo fechado) para comparar a
+ * aplicação rodando com o pool de threads do Tomcat e com o profile virtual-threads.
+ * Rode a mesma simulação contra os dois modos e compare vazão e percentis:
+ * <pre>
+ * make start-app                          # ou: make start-app-virtual-threads
+ * mvn gatling:test -P performance-test \
+ *     -Dgatling.simulationClass=br.com.fiap.api.performance.ConcorrenciaSimulation -Dusuarios=2000
+ * </pre>
+ */
+public class ConcorrenciaSimulation extends Simulation {
+  private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+  private static final int USUARIOS = Integer.getInteger("usuarios", 1000);
+  private static final Duration RAMPA = Duration.ofSeconds(Integer.getInteger("rampaSegundos", 30));
+  private static final Duration DURACAO = Duration.ofSeconds(Integer.getInteger("duracaoSegundos", 120));
+
+  private final HttpProtocolBuilder httpProtocol =
+      http.baseUrl(BASE_URL)
+          .header("Content-Type", "application/json");
+
+  ActionBuilder adicionarMensagemRequest = http("adicionar mensagem")
+      .post("/mensagens")
+      .body(StringBody("{\"usuario\": \"concorrencia\", \"conteudo\": \"conteudo da mensagem\"}"))
+      .check(status().is(201))
+      .check(jsonPath("$.id").saveAs("mensagemId"));
+
+  ActionBuilder buscarMensagemRequest = http("buscar mensagem")
+      .get("/mensagens/#{mensagemId}")
+      .check(status().is(200));
+
+  ActionBuilder listarMensagensRequest = http("listar mensagens")
+      .get("/mensagens/cursor?size=20")
+      .check(status().is(200));
+
+  ScenarioBuilder cenarioConcorrencia = scenario("usuarios simultaneos")
+      .exec(adicionarMensagemRequest)
+      .during(DURACAO).on(
+          exec(buscarMensagemRequest)
+              .exec(listarMensagensRequest)
+      );
+
+  {
+    setUp(
+        cenarioConcorrencia.injectClosed(
+            rampConcurrentUsers(0).to(USUARIOS).during(RAMPA),
+            constantConcurrentUsers(USUARIOS).during(DURACAO)
+        )
+    )
+        .protocols(httpProtocol)
+        .assertions(
+            global().failedRequests().percent().lt(1.0)
+        );
+  }
+}
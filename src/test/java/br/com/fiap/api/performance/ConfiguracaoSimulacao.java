@@ -0,0 +1,50 @@
+package br.com.fiap.api.performance;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros das simulações, lidos de propriedades de sistema ({@code -Dchave=valor}).
+ */
+public final class ConfiguracaoSimulacao {
+  public static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+
+  // injeção
+  public static final String PERFIL = System.getProperty("perfil", "carga");
+  public static final double TAXA = Double.parseDouble(System.getProperty("taxa", "20"));
+  public static final Duration RAMPA = segundos("rampaSegundos", 30);
+  public static final Duration DURACAO = segundos("duracaoSegundos", 120);
+  public static final Duration DURACAO_SOAK = segundos("duracaoSoakSegundos", 3600);
+  public static final double PASSO_STRESS = Double.parseDouble(System.getProperty("passoStress", "20"));
+  public static final int NIVEIS_STRESS = Integer.getInteger("niveisStress", 10);
+  public static final Duration DURACAO_NIVEL = segundos("duracaoNivelSegundos", 30);
+  public static final Duration RAMPA_NIVEL = segundos("rampaNivelSegundos", 10);
+  public static final int USUARIOS_PICO = Integer.getInteger("usuariosPico", 2000);
+  public static final Duration DURACAO_PICO = segundos("duracaoPicoSegundos", 10);
+
+  // proporção de cada tipo de requisição na carga mista, em percentual
+  public static final double PERCENTUAL_LEITURA = Double.parseDouble(System.getProperty("percentualLeitura", "60"));
+  public static final double PERCENTUAL_LISTAGEM = Double.parseDouble(System.getProperty("percentualListagem", "25"));
+  public static final double PERCENTUAL_ESCRITA = Double.parseDouble(System.getProperty("percentualEscrita", "10"));
+  public static final double PERCENTUAL_ALTERACAO = Double.parseDouble(System.getProperty("percentualAlteracao", "5"));
+
+  // percentual de requisições com falha aceito antes de quebrar o build
+  public static final double PERCENTUAL_MAXIMO_FALHAS = Double.parseDouble(System.getProperty("percentualMaximoFalhas", "1"));
+
+  // mensagens criadas antes da simulação para as leituras e alterações
+  public static final int MENSAGENS_INICIAIS = Integer.getInteger("mensagensIniciais", 1000);
+
+  private ConfiguracaoSimulacao() {
+  }
+
+  /**
+   * SLO em milissegundos para o percentil de um tipo de requisição,
+   * por exemplo {@code -Dslo.buscar.p95=50}.
+   */
+  public static int slo(String tipo, int percentil, int padrao) {
+    return Integer.getInteger("slo." + tipo + ".p" + percentil, padrao);
+  }
+
+  private static Duration segundos(String propriedade, int padrao) {
+    return Duration.ofSeconds(Integer.getInteger(propriedade, padrao));
+  }
+}
@@ -0,0 +1,74 @@
+package br.com.fiap.api.performance;
+
+import br.com.fiap.api.api.id.IdGenerator;
+import br.com.fiap.api.api.id.RandomUuidGenerator;
+import br.com.fiap.api.api.id.UuidV7Generator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+
+/**
+ * Compara a vazão de inserção na tabela de mensagens usando chaves UUID v4 (aleatórias)
+ * e UUID v7 (ordenadas pelo tempo).
+ * <p>
+ * Por padrão usa um H2 em memória; para medir no Postgres informe
+ * {@code -Dbenchmark.url}, {@code -Dbenchmark.usuario} e {@code -Dbenchmark.senha}
+ * (o driver precisa estar no classpath). O efeito das chaves aleatórias aparece de
+ * verdade quando o índice da chave primária passa do tamanho da memória, então ajuste
+ * {@code -Dbenchmark.registros} de acordo.
+ */
+public class InsercaoIdBenchmark {
+  private static final String URL = System.getProperty("benchmark.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1");
+  private static final String USUARIO = System.getProperty("benchmark.usuario", "root");
+  private static final String SENHA = System.getProperty("benchmark.senha", "toor");
+  private static final int REGISTROS = Integer.getInteger("benchmark.registros", 1_000_000);
+  private static final int LOTE = Integer.getInteger("benchmark.lote", 1_000);
+
+  public static void main(String[] args) throws SQLException {
+    var estrategias = new LinkedHashMap<String, IdGenerator>();
+    estrategias.put("uuid-v4", new RandomUuidGenerator());
+    estrategias.put("uuid-v7", new UuidV7Generator());
+
+    try (var conexao = DriverManager.getConnection(URL, USUARIO, SENHA)) {
+      conexao.setAutoCommit(false);
+      for (var estrategia : estrategias.entrySet()) {
+        var inicio = System.nanoTime();
+        inserir(conexao, estrategia.getValue());
+        var segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+        System.out.printf("%s: %d registros em %.2fs (%.0f inserções/s)%n",
+            estrategia.getKey(), REGISTROS, segundos, REGISTROS / segundos);
+      }
+    }
+  }
+
+  private static void inserir(Connection conexao, IdGenerator idGenerator) throws SQLException {
+    try (var statement = conexao.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS mensagem_benchmark");
+      statement.execute("CREATE TABLE mensagem_benchmark ("
+          + "id UUID PRIMARY KEY, usuario VARCHAR(255) NOT NULL, conteudo VARCHAR(255) NOT NULL, "
+          + "data_criacao TIMESTAMP, gostei INT NOT NULL)");
+    }
+    conexao.commit();
+
+    var sql = "INSERT INTO mensagem_benchmark (id, usuario, conteudo, data_criacao, gostei) VALUES (?, ?, ?, ?, 0)";
+    try (var insert = conexao.prepareStatement(sql)) {
+      for (int i = 1; i <= REGISTROS; i++) {
+        insert.setObject(1, idGenerator.gerarId());
+        insert.setString(2, "benchmark");
+        insert.setString(3, "conteudo da mensagem " + i);
+        insert.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+        insert.addBatch();
+        if (i % LOTE == 0) {
+          insert.executeBatch();
+          conexao.commit();
+        }
+      }
+      insert.executeBatch();
+      conexao.commit();
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package br.com.fiap.api.performance;
+
+import io.gatling.javaapi.core.ActionBuilder;
+
+import static io.gatling.javaapi.core.CoreDsl.StringBody;
+import static io.gatling.javaapi.core.CoreDsl.jsonPath;
+import static io.gatling.javaapi.http.HttpDsl.http;
+import static io.gatling.javaapi.http.HttpDsl.status;
+
+/**
+ * Requisições da API de mensagens compartilhadas pelas simulações. Os nomes são os
+ * usados nas asserções de SLO por tipo de requisição.
+ */
+public final class MensagemRequests {
+  public static final String ADICIONAR = "adicionar mensagem";
+  public static final String BUSCAR = "buscar mensagem";
+  public static final String LISTAR = "listar mensagens";
+  public static final String ALTERAR = "alterar mensagem";
+  public static final String REMOVER = "remover mensagem";
+
+  private MensagemRequests() {
+  }
+
+  public static ActionBuilder adicionarMensagem() {
+    return http(ADICIONAR)
+        .post("/mensagens")
+        .body(StringBody("{\"usuario\": \"carga\", \"conteudo\": \"conteudo da mensagem\"}"))
+        .check(status().is(201))
+        .check(jsonPath("$.id").saveAs("mensagemId"));
+  }
+
+  public static ActionBuilder buscarMensagem() {
+    return http(BUSCAR)
+        .get("/mensagens/#{mensagemId}")
+        .check(status().is(200));
+  }
+
+  public static ActionBuilder listarMensagens() {
+    return http(LISTAR)
+        .get("/mensagens?page=#{pagina}&size=10")
+        .check(status().is(200));
+  }
+
+  public static ActionBuilder alterarMensagem() {
+    return http(ALTERAR)
+        .put("/mensagens/#{mensagemId}")
+        .body(StringBody("{\"id\": \"#{mensagemId}\", \"usuario\": \"carga\", \"conteudo\": \"conteudo alterado\"}"))
+        .check(status().is(202));
+  }
+
+  public static ActionBuilder removerMensagem() {
+    return http(REMOVER)
+        .delete("/mensagens/#{mensagemId}")
+        .check(status().is(200));
+  }
+}
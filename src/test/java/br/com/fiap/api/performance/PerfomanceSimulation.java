@@ -13,7 +13,7 @@ import static io.gatling.javaapi.http.HttpDsl.status;
 
 public class PerfomanceSimulation extends Simulation {
   private final HttpProtocolBuilder httpProtocol =
-      http.baseUrl("http://localhost:8080")
+      http.baseUrl(ConfiguracaoSimulacao.BASE_URL)
           .header("Content-Type", "application/json");
 
   ActionBuilder adicionarMensagemRequest = http("adicionar mensagem")
@@ -79,7 +79,9 @@ public class PerfomanceSimulation extends Simulation {
     )
         .protocols(httpProtocol)
         .assertions(
-            global().responseTime().max().lt(50)
+            global().responseTime().percentile(95.0).lt(ConfiguracaoSimulacao.slo("global", 95, 50)),
+            global().responseTime().percentile(99.0).lt(ConfiguracaoSimulacao.slo("global", 99, 100)),
+            global().failedRequests().percent().lt(ConfiguracaoSimulacao.PERCENTUAL_MAXIMO_FALHAS)
         );
   }
 }
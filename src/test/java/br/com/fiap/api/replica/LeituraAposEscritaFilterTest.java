@@ -0,0 +1,56 @@
+package br.com.fiap.api.replica;
+
+import br.com.fiap.api.api.replica.LeituraAposEscritaFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeituraAposEscritaFilterTest {
+
+  @Test
+  void deveDevolverCookieComAJanela_QuandoRequisicaoDeEscrita() throws Exception {
+    // Arrange
+    var filtro = new LeituraAposEscritaFilter(Duration.ofMillis(1500));
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filtro.doFilter(new MockHttpServletRequest("POST", "/mensagens"), response, new MockFilterChain());
+
+    // Assert
+    var cookie = response.getCookie(LeituraAposEscritaFilter.COOKIE);
+    assertThat(cookie).isNotNull();
+    assertThat(cookie.getMaxAge()).isEqualTo(2);
+    assertThat(cookie.getPath()).isEqualTo("/");
+  }
+
+  @Test
+  void naoDeveDevolverCookie_QuandoRequisicaoDeLeitura() throws Exception {
+    // Arrange
+    var filtro = new LeituraAposEscritaFilter(Duration.ofSeconds(5));
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filtro.doFilter(new MockHttpServletRequest("GET", "/mensagens"), response, new MockFilterChain());
+
+    // Assert
+    assertThat(response.getCookie(LeituraAposEscritaFilter.COOKIE)).isNull();
+  }
+
+  @Test
+  void naoDeveDevolverCookie_QuandoJanelaDesligada() throws Exception {
+    // Arrange
+    var filtro = new LeituraAposEscritaFilter(Duration.ZERO);
+    var response = new MockHttpServletResponse();
+
+    // Act
+    filtro.doFilter(new MockHttpServletRequest("POST", "/mensagens"), response, new MockFilterChain());
+
+    // Assert
+    assertThat(response.getCookie(LeituraAposEscritaFilter.COOKIE)).isNull();
+  }
+}
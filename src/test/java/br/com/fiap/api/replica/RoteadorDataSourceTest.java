@@ -0,0 +1,168 @@
+package br.com.fiap.api.replica;
+
+import br.com.fiap.api.api.replica.LeituraAposEscritaFilter;
+import br.com.fiap.api.api.replica.RoteadorDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Primário e réplicas são bancos H2 embutidos distintos; cada um responde com o próprio nome
+ * em {@code SELECT nome FROM origem}, o que mostra de onde veio cada leitura.
+ */
+class RoteadorDataSourceTest {
+  private final List<EmbeddedDatabase> bancos = new ArrayList<>();
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private JdbcTemplate jdbcTemplate;
+
+  private TransactionTemplate escrita;
+
+  private TransactionTemplate leitura;
+
+  private RoteadorDataSource roteador;
+
+  @AfterEach
+  void tearDown() {
+    bancos.forEach(EmbeddedDatabase::shutdown);
+  }
+
+  private EmbeddedDatabase banco(String nome) {
+    var banco = new EmbeddedDatabaseBuilder()
+        .setType(EmbeddedDatabaseType.H2)
+        .generateUniqueName(true)
+        .build();
+    var jdbc = new JdbcTemplate(banco);
+    jdbc.execute("CREATE TABLE origem (nome VARCHAR(20))");
+    jdbc.update("INSERT INTO origem (nome) VALUES (?)", nome);
+    bancos.add(banco);
+    return banco;
+  }
+
+  private void configurar(DataSource primario, DataSource... replicas) {
+    roteador = new RoteadorDataSource(primario, List.of(replicas), meterRegistry);
+    var dataSource = new LazyConnectionDataSourceProxy(roteador);
+    var transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    escrita = new TransactionTemplate(transactionManager);
+    leitura = new TransactionTemplate(transactionManager);
+    leitura.setReadOnly(true);
+  }
+
+  private String origem(TransactionTemplate transacao) {
+    return transacao.execute(status -> jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class));
+  }
+
+  @Test
+  void deveLerDaReplica_QuandoTransacaoSomenteLeitura() {
+    // Arrange
+    configurar(banco("primario"), banco("replica"));
+
+    // Act
+    var origem = origem(leitura);
+
+    // Assert
+    assertThat(origem).isEqualTo("replica");
+    assertThat(meterRegistry.get(RoteadorDataSource.COUNTER_CONEXOES).tag("destino", "replica")
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void deveUsarPrimario_QuandoTransacaoDeEscritaOuSemTransacao() {
+    // Arrange
+    configurar(banco("primario"), banco("replica"));
+
+    // Act & Assert
+    assertThat(origem(escrita)).isEqualTo("primario");
+    assertThat(jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class)).isEqualTo("primario");
+  }
+
+  @Test
+  void deveDistribuirLeiturasEntreAsReplicas() {
+    // Arrange
+    configurar(banco("primario"), banco("replica-1"), banco("replica-2"));
+
+    // Act
+    var origens = new ArrayList<String>();
+    for (int i = 0; i < 4; i++) {
+      origens.add(origem(leitura));
+    }
+
+    // Assert
+    assertThat(origens).containsExactlyInAnyOrder("replica-1", "replica-1", "replica-2", "replica-2");
+  }
+
+  @Test
+  void deveUsarPrimario_QuandoReplicaIndisponivel_EVoltarAposVerificacao() throws SQLException {
+    // Arrange
+    var replica = banco("replica");
+    var instavel = mock(DataSource.class);
+    when(instavel.getConnection()).thenThrow(new SQLException("conexão recusada"));
+    configurar(banco("primario"), instavel);
+
+    // Act & Assert: a falha tira a réplica do rodízio
+    assertThat(origem(leitura)).isEqualTo("primario");
+    assertThat(roteador.replicasDisponiveis()).isZero();
+    assertThat(meterRegistry.get(RoteadorDataSource.GAUGE_DISPONIVEIS).gauge().value()).isZero();
+
+    // Act & Assert: a verificação a devolve quando volta a responder
+    doAnswer(invocacao -> replica.getConnection()).when(instavel).getConnection();
+    roteador.verificarReplicas();
+    assertThat(roteador.replicasDisponiveis()).isEqualTo(1);
+    assertThat(origem(leitura)).isEqualTo("replica");
+  }
+
+  @Test
+  void deveLerDoPrimario_QuandoClienteDentroDaJanelaDeLeituraAposEscrita() throws Exception {
+    // Arrange
+    configurar(banco("primario"), banco("replica"));
+    var filtro = new LeituraAposEscritaFilter(Duration.ofSeconds(5));
+    var request = new MockHttpServletRequest("GET", "/mensagens/1");
+    request.setCookies(new Cookie(LeituraAposEscritaFilter.COOKIE, "1"));
+    var origem = new AtomicReference<String>();
+
+    // Act
+    filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> origem.set(origem(leitura)));
+
+    // Assert
+    assertThat(origem.get()).isEqualTo("primario");
+    assertThat(LeituraAposEscritaFilter.ativa()).isFalse();
+    assertThat(origem(leitura)).isEqualTo("replica");
+  }
+
+  @Test
+  void deveLerDoPrimario_QuandoLeituraAlimentaCache() {
+    // Arrange
+    configurar(banco("primario"), banco("replica"));
+
+    // Act
+    var origem = RoteadorDataSource.noPrimario(() -> origem(leitura));
+
+    // Assert
+    assertThat(origem).isEqualTo("primario");
+    assertThat(origem(leitura)).isEqualTo("replica");
+  }
+}
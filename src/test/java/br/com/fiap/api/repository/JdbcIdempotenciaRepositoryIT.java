@@ -0,0 +1,82 @@
+package br.com.fiap.api.repository;
+
+import br.com.fiap.api.api.RestApiApplication;
+import br.com.fiap.api.api.model.RegistroIdempotencia;
+import br.com.fiap.api.api.repository.JdbcIdempotenciaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = RestApiApplication.class)
+@AutoConfigureTestDatabase
+@Transactional
+@ActiveProfiles("test")
+class JdbcIdempotenciaRepositoryIT {
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private JdbcIdempotenciaRepository idempotenciaRepository;
+
+  @BeforeEach
+  void setup() {
+    // o profile test usa o armazenamento em memória; a tabela vem do schema-h2.sql
+    idempotenciaRepository = new JdbcIdempotenciaRepository(jdbcTemplate);
+  }
+
+  @Test
+  void devePermitirReservarChave_UmaUnicaVez() {
+    // Arrange
+    var reserva = RegistroIdempotencia.emAndamento("chave", "impressao", Instant.now().plusSeconds(30));
+
+    // Act
+    var primeira = idempotenciaRepository.reservar(reserva);
+    var segunda = idempotenciaRepository.reservar(reserva);
+
+    // Assert
+    assertThat(primeira).isEmpty();
+    assertThat(segunda).hasValueSatisfying(existente -> assertThat(existente.emAndamento()).isTrue());
+  }
+
+  @Test
+  void devePermitirConcluirRegistro() {
+    // Arrange
+    var reserva = RegistroIdempotencia.emAndamento("chave", "impressao", Instant.now().plusSeconds(30));
+    idempotenciaRepository.reservar(reserva);
+
+    // Act
+    idempotenciaRepository.concluir(reserva.concluido(201, "{\"id\":1}", Instant.now().plus(Duration.ofHours(1))));
+
+    // Assert
+    assertThat(idempotenciaRepository.reservar(reserva)).hasValueSatisfying(existente -> {
+      assertThat(existente.status()).isEqualTo(201);
+      assertThat(existente.corpo()).isEqualTo("{\"id\":1}");
+    });
+  }
+
+  @Test
+  void devePermitirReservarNovamente_QuandoLiberadaOuExpirada() {
+    // Arrange
+    var liberada = RegistroIdempotencia.emAndamento("liberada", "impressao", Instant.now().plusSeconds(30));
+    var expirada = RegistroIdempotencia.emAndamento("expirada", "impressao", Instant.now().minusSeconds(1));
+    idempotenciaRepository.reservar(liberada);
+    idempotenciaRepository.reservar(expirada);
+
+    // Act
+    idempotenciaRepository.liberar(liberada);
+
+    // Assert
+    assertThat(idempotenciaRepository.reservar(liberada)).isEmpty();
+    assertThat(idempotenciaRepository.reservar(
+        RegistroIdempotencia.emAndamento("expirada", "impressao", Instant.now().plusSeconds(30)))).isEmpty();
+  }
+}
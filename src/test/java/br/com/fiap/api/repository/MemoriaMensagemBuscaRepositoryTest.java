@@ -0,0 +1,143 @@
+package br.com.fiap.api.repository;
+
+import br.com.fiap.api.api.event.MensagemEvento;
+import br.com.fiap.api.api.model.BuscaCursor;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemRelevante;
+import br.com.fiap.api.api.repository.MemoriaMensagemBuscaRepository;
+import br.com.fiap.api.api.repository.MensagemRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+class MemoriaMensagemBuscaRepositoryTest {
+  @Mock
+  private MensagemRepository mensagemRepository;
+
+  private MemoriaMensagemBuscaRepository buscaRepository;
+
+  private final Map<UUID, Mensagem> banco = new HashMap<>();
+
+  AutoCloseable openMocks;
+
+  @BeforeEach
+  void setup() {
+    openMocks = MockitoAnnotations.openMocks(this);
+    buscaRepository = new MemoriaMensagemBuscaRepository(mensagemRepository);
+    when(mensagemRepository.findAllById(anyIterable())).thenAnswer(answer -> {
+      Iterable<UUID> ids = answer.getArgument(0);
+      var encontradas = new ArrayList<Mensagem>();
+      ids.forEach(id -> {
+        if (banco.containsKey(id)) {
+          encontradas.add(banco.get(id));
+        }
+      });
+      return encontradas;
+    });
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    openMocks.close();
+  }
+
+  @Test
+  void devePermitirBuscarMensagens_OrdenadasPorRelevancia() {
+    // Arrange
+    var umaVez = registrar("A reunião foi remarcada");
+    var duasVezes = registrar("Reunião de hoje: a reunião começa às 10h");
+    registrar("Almoço às 12h");
+
+    // Act
+    var resultados = buscaRepository.buscar("reuniao", null, 10);
+
+    // Assert
+    assertThat(resultados).extracting(MensagemRelevante::mensagem).containsExactly(duasVezes, umaVez);
+    assertThat(resultados.get(0).relevancia()).isGreaterThan(resultados.get(1).relevancia());
+  }
+
+  @Test
+  void devePermitirBuscarMensagens_ExigindoTodosOsTermos() {
+    // Arrange
+    var ambos = registrar("Reunião de planejamento");
+    registrar("Reunião de retrospectiva");
+    registrar("Planejamento da sprint");
+
+    // Act
+    var resultados = buscaRepository.buscar("PLANEJAMENTO reunião", null, 10);
+
+    // Assert
+    assertThat(resultados).extracting(MensagemRelevante::mensagem).containsExactly(ambos);
+  }
+
+  @Test
+  void devePermitirBuscarMensagens_AposCursor() {
+    // Arrange
+    for (int i = 0; i < 5; i++) {
+      registrar("mensagem " + i);
+    }
+
+    // Act
+    var primeira = buscaRepository.buscar("mensagem", null, 3);
+    var segunda = buscaRepository.buscar("mensagem", BuscaCursor.of(primeira.get(2)), 3);
+
+    // Assert
+    assertThat(primeira).hasSize(3);
+    assertThat(segunda).hasSize(2);
+    assertThat(segunda).extracting(MensagemRelevante::mensagem)
+        .doesNotContainAnyElementsOf(primeira.stream().map(MensagemRelevante::mensagem).toList());
+  }
+
+  @Test
+  void devePermitirAtualizarIndice_QuandoMensagemAlteradaOuRemovida() {
+    // Arrange
+    var alterada = registrar("Conteúdo antigo");
+    var removida = registrar("Conteúdo removido");
+    alterada.setConteudo("Conteúdo novo");
+
+    // Act
+    buscaRepository.atualizar(MensagemEvento.alterada(alterada));
+    buscaRepository.atualizar(MensagemEvento.removida(removida.getId()));
+    banco.remove(removida.getId());
+
+    // Assert
+    assertThat(buscaRepository.buscar("antigo", null, 10)).isEmpty();
+    assertThat(buscaRepository.buscar("removido", null, 10)).isEmpty();
+    assertThat(buscaRepository.buscar("novo", null, 10))
+        .extracting(MensagemRelevante::mensagem).containsExactly(alterada);
+  }
+
+  @Test
+  void devePermitirCarregarIndice_AoIniciar() {
+    // Arrange
+    var existente = Mensagem.builder().id(UUID.randomUUID()).usuario("Adam").conteudo("já no banco").build();
+    banco.put(existente.getId(), existente);
+    when(mensagemRepository.findAll()).thenReturn(List.of(existente));
+
+    // Act
+    buscaRepository.carregar();
+
+    // Assert
+    assertThat(buscaRepository.buscar("banco", null, 10))
+        .extracting(MensagemRelevante::mensagem).containsExactly(existente);
+  }
+
+  private Mensagem registrar(String conteudo) {
+    var mensagem = Mensagem.builder().id(UUID.randomUUID()).usuario("Jose").conteudo(conteudo).build();
+    banco.put(mensagem.getId(), mensagem);
+    buscaRepository.atualizar(MensagemEvento.criada(mensagem));
+    return mensagem;
+  }
+}
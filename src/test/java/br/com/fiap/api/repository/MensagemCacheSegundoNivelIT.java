@@ -0,0 +1,136 @@
+package br.com.fiap.api.repository;
+
+import br.com.fiap.api.api.RestApiApplication;
+import br.com.fiap.api.api.repository.MensagemRepository;
+import br.com.fiap.api.utils.MensagemHelper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_MENSAGEM;
+import static br.com.fiap.api.api.config.ApplicationConfig.REGIAO_PAGINAS_MENSAGENS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sem @Transactional: o cache de segundo nível só é preenchido e invalidado nos commits.
+ */
+@SpringBootTest(classes = RestApiApplication.class)
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class MensagemCacheSegundoNivelIT {
+  @Autowired
+  private MensagemRepository mensagemRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  private UUID id;
+
+  @BeforeEach
+  void setup() {
+    var mensagem = MensagemHelper.gerarMensagem();
+    mensagem.setId(UUID.randomUUID());
+    id = mensagemRepository.save(mensagem).getId();
+    entityManagerFactory.getCache().evictAll();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    mensagemRepository.removerPorId(id);
+  }
+
+  @Test
+  void deveBuscarMensagemDoCache_NaSegundaLeitura() {
+    // Act
+    mensagemRepository.findById(id);
+    mensagemRepository.findById(id);
+
+    // Assert
+    var regiao = statistics.getDomainDataRegionStatistics(REGIAO_MENSAGEM);
+    assertThat(regiao.getMissCount()).isEqualTo(1);
+    assertThat(regiao.getHitCount()).isEqualTo(1);
+  }
+
+  @Test
+  void deveInvalidarCache_QuandoAlterarConteudo() {
+    // Arrange
+    mensagemRepository.findById(id);
+
+    // Act
+    mensagemRepository.alterarConteudo(id, "conteúdo alterado");
+
+    // Assert
+    assertThat(mensagemRepository.findById(id))
+        .hasValueSatisfying(mensagem -> assertThat(mensagem.getConteudo()).isEqualTo("conteúdo alterado"));
+  }
+
+  @Test
+  void deveManterOutrasMensagensNoCache_QuandoAlterarConteudo() {
+    // Arrange
+    var outra = MensagemHelper.gerarMensagem();
+    outra.setId(UUID.randomUUID());
+    mensagemRepository.save(outra);
+    mensagemRepository.findById(outra.getId());
+    statistics.clear();
+
+    // Act
+    mensagemRepository.alterarConteudo(id, "conteúdo alterado");
+    mensagemRepository.findById(outra.getId());
+
+    // Assert
+    assertThat(statistics.getDomainDataRegionStatistics(REGIAO_MENSAGEM).getHitCount()).isEqualTo(1);
+    mensagemRepository.removerPorId(outra.getId());
+  }
+
+  @Test
+  void deveInvalidarCache_QuandoIncrementarGostei() {
+    // Arrange
+    mensagemRepository.findById(id);
+    mensagemRepository.listarMensagensEmCache(PageRequest.of(0, 1000));
+
+    // Act
+    mensagemRepository.incrementarGostei(Map.of(id, 3L));
+
+    // Assert
+    assertThat(mensagemRepository.findById(id))
+        .hasValueSatisfying(mensagem -> assertThat(mensagem.getGostei()).isEqualTo(3));
+    assertThat(mensagemRepository.listarMensagensEmCache(PageRequest.of(0, 1000)).getContent())
+        .filteredOn(mensagem -> mensagem.getId().equals(id))
+        .singleElement()
+        .satisfies(mensagem -> assertThat(mensagem.getGostei()).isEqualTo(3));
+  }
+
+  @Test
+  void deveListarPrimeiraPaginaDoCacheDeConsultas_AteHaverEscrita() {
+    // Arrange
+    var pagina = PageRequest.of(0, 5);
+    var antes = mensagemRepository.listarMensagensEmCache(pagina);
+
+    // Act
+    mensagemRepository.listarMensagensEmCache(pagina);
+    var nova = MensagemHelper.gerarMensagem();
+    nova.setId(UUID.randomUUID());
+    mensagemRepository.save(nova);
+    var depois = mensagemRepository.listarMensagensEmCache(pagina);
+
+    // Assert
+    assertThat(statistics.getQueryRegionStatistics(REGIAO_PAGINAS_MENSAGENS).getHitCount()).isPositive();
+    assertThat(depois.getTotalElements()).isEqualTo(antes.getTotalElements() + 1);
+    mensagemRepository.removerPorId(nova.getId());
+  }
+}
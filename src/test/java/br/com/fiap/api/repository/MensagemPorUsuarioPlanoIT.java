@@ -0,0 +1,87 @@
+package br.com.fiap.api.repository;
+
+import br.com.fiap.api.api.RestApiApplication;
+import br.com.fiap.api.api.repository.MensagemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Confere o plano da listagem por usuário com volume próximo ao de produção: o H2 deve
+ * usar idx_mensagem_usuario_data_criacao_id tanto para o filtro quanto para a ordenação.
+ */
+@SpringBootTest(classes = RestApiApplication.class)
+@AutoConfigureTestDatabase
+@Transactional
+@ActiveProfiles("test")
+class MensagemPorUsuarioPlanoIT {
+  private static final int USUARIOS = 500;
+  private static final int MENSAGENS = 50_000;
+  private static final String INDICE = "IDX_MENSAGEM_USUARIO_DATA_CRIACAO_ID";
+
+  // mesmas condições e ordenação geradas para MensagemRepository.listarMensagensPorUsuario
+  private static final String CONSULTA = "SELECT id, usuario, conteudo, data_criacao, gostei, versao, data_alteracao "
+      + "FROM mensagem WHERE usuario = 'usuario-7' %s "
+      + "ORDER BY usuario, data_criacao, id FETCH FIRST 11 ROWS ONLY";
+  private static final String POSICAO = "AND data_criacao >= TIMESTAMP '2024-01-15 00:00:00' "
+      + "AND (data_criacao > TIMESTAMP '2024-01-15 00:00:00' OR id > '00000000-0000-0000-0000-000000000000')";
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private MensagemRepository mensagemRepository;
+
+  @BeforeEach
+  void setup() {
+    var inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+    var linhas = new ArrayList<Object[]>(MENSAGENS);
+    for (int i = 0; i < MENSAGENS; i++) {
+      linhas.add(new Object[]{
+          UUID.randomUUID(), "usuario-" + (i % USUARIOS), "Conteudo " + i, Timestamp.valueOf(inicio.plusSeconds(i))});
+    }
+    jdbcTemplate.batchUpdate("INSERT INTO mensagem (id, usuario, conteudo, data_criacao, gostei, versao) "
+        + "VALUES (?, ?, ?, ?, 0, 0)", linhas);
+    // atualiza a seletividade das colunas usada pelo otimizador
+    jdbcTemplate.execute("ANALYZE");
+  }
+
+  @Test
+  void deveUsarIndiceComposto_QuandoListarPrimeiraPagina() {
+    var plano = jdbcTemplate.queryForObject("EXPLAIN " + String.format(CONSULTA, ""), String.class);
+
+    assertThat(plano).containsIgnoringCase(INDICE).contains("index sorted");
+  }
+
+  @Test
+  void deveUsarIndiceComposto_QuandoListarAposCursor() {
+    var plano = jdbcTemplate.queryForObject("EXPLAIN " + String.format(CONSULTA, POSICAO), String.class);
+
+    assertThat(plano).containsIgnoringCase(INDICE).contains("index sorted");
+  }
+
+  @Test
+  void devePermitirListarMensagensPorUsuario_EmOrdemDeCriacao() {
+    var primeiraPagina = mensagemRepository.listarMensagensPorUsuario("usuario-7", PageRequest.of(0, 10));
+    var ultima = primeiraPagina.get(primeiraPagina.size() - 1);
+    var segundaPagina = mensagemRepository.listarMensagensPorUsuario(
+        "usuario-7", ultima.getDataCriacao(), ultima.getId(), PageRequest.of(0, 10));
+
+    assertThat(primeiraPagina).hasSize(10).allMatch(mensagem -> mensagem.getUsuario().equals("usuario-7"));
+    assertThat(segundaPagina).hasSize(10);
+    assertThat(segundaPagina.get(0).getDataCriacao()).isAfter(ultima.getDataCriacao());
+  }
+}
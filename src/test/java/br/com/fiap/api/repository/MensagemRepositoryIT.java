@@ -1,17 +1,24 @@
 package br.com.fiap.api.repository;
 
 import br.com.fiap.api.api.RestApiApplication;
+import br.com.fiap.api.api.model.CampoMensagem;
 import br.com.fiap.api.api.model.Mensagem;
 import br.com.fiap.api.api.repository.MensagemRepository;
 import br.com.fiap.api.utils.MensagemHelper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -24,6 +31,9 @@ class MensagemRepositoryIT {
   @Autowired
   private MensagemRepository mensagemRepository;
 
+  @PersistenceContext
+  private EntityManager entityManager;
+
   @Test
   void devePermitirCriarTabela() {
     var totalDeRegistros = mensagemRepository.count();
@@ -61,6 +71,64 @@ class MensagemRepositoryIT {
     Assertions.assertThat(mensagensRecebidas).hasSizeGreaterThan(2);
   }
 
+  @Test
+  void devePermitirListarMensagensSemTotal() {
+    // Arrange
+    var total = (int) mensagemRepository.count();
+
+    // Act
+    var fatiaIncompleta = mensagemRepository.listarMensagensSemTotal(PageRequest.of(0, total - 1));
+    var fatiaCompleta = mensagemRepository.listarMensagensSemTotal(PageRequest.of(0, total));
+
+    // Assert
+    Assertions.assertThat(fatiaIncompleta.getContent()).hasSize(total - 1);
+    assertThat(fatiaIncompleta.hasNext()).isTrue();
+    Assertions.assertThat(fatiaCompleta.getContent()).hasSize(total);
+    assertThat(fatiaCompleta.hasNext()).isFalse();
+  }
+
+  @Test
+  void devePermitirListarMensagens_ForaDoContextoDePersistencia() {
+    // Act
+    var pagina = mensagemRepository.listarMensagens(PageRequest.of(0, 5));
+
+    // Assert
+    Assertions.assertThat(pagina.getContent())
+        .isNotEmpty()
+        .noneMatch(entityManager::contains);
+  }
+
+  @Test
+  void devePermitirListarApenasCamposSelecionados() {
+    // Act
+    var pagina = mensagemRepository.listarCampos(EnumSet.of(CampoMensagem.ID, CampoMensagem.USUARIO), PageRequest.of(0, 5));
+
+    // Assert
+    assertThat(pagina.getTotalElements()).isEqualTo(mensagemRepository.count());
+    Assertions.assertThat(pagina.getContent()).isNotEmpty().allSatisfy(mensagem -> {
+      assertThat(mensagem.id()).isNotNull();
+      assertThat(mensagem.usuario()).isNotNull();
+      assertThat(mensagem.conteudo()).isNull();
+      assertThat(mensagem.dataCriacao()).isNull();
+    });
+  }
+
+  @Test
+  void devePermitirBuscarApenasCamposSelecionados() {
+    // Arrange
+    var id = UUID.fromString("4c6e0331-b9e8-44ec-96c4-1b40a738dac9");
+
+    // Act
+    var mensagem = mensagemRepository.buscarCampos(id, EnumSet.of(CampoMensagem.CONTEUDO));
+
+    // Assert
+    assertThat(mensagem).isPresent();
+    mensagem.ifPresent(parcial -> {
+      assertThat(parcial.conteudo()).isNotNull();
+      assertThat(parcial.id()).isNull();
+    });
+  }
+
   @Test
   void devePermitirBuscarMensagem() {
     // Arrange
@@ -90,4 +158,72 @@ class MensagemRepositoryIT {
     // Assert
     assertThat(mensagemRemovida).isEmpty();
   }
+
+  @Test
+  void devePermitirAlterarConteudo() {
+    // Arrange
+    var id = UUID.fromString("4c6e0331-b9e8-44ec-96c4-1b40a738dac9");
+
+    // Act
+    var alteradas = mensagemRepository.alterarConteudo(id, "Conteudo alterado");
+    var mensagemAlterada = mensagemRepository.findById(id);
+
+    // Assert
+    assertThat(alteradas).isEqualTo(1);
+    assertThat(mensagemAlterada).isPresent();
+    mensagemAlterada.ifPresent(mensagem -> {
+      assertThat(mensagem.getConteudo()).isEqualTo("Conteudo alterado");
+      assertThat(mensagem.getVersao()).isEqualTo(1);
+      assertThat(mensagem.getDataAlteracao()).isNotNull();
+    });
+  }
+
+  @Test
+  void devePermitirRemoverPorId() {
+    // Arrange
+    var id = UUID.fromString("7dc1766e-1c80-448d-b798-0ad57400dfbc");
+
+    // Act
+    var removidas = mensagemRepository.removerPorId(id);
+    var removidasNovamente = mensagemRepository.removerPorId(id);
+
+    // Assert
+    assertThat(removidas).isEqualTo(1);
+    assertThat(removidasNovamente).isZero();
+    assertThat(mensagemRepository.findById(id)).isEmpty();
+  }
+
+  @Test
+  void devePermitirIncrementarGostei() {
+    // Arrange
+    var id = UUID.fromString("4c6e0331-b9e8-44ec-96c4-1b40a738dac9");
+    var outroId = UUID.fromString("7dc1766e-1c80-448d-b798-0ad57400dfbc");
+
+    // Act
+    mensagemRepository.incrementarGostei(Map.of(id, 5L, outroId, 1L));
+    var mensagem = mensagemRepository.findById(id);
+
+    // Assert
+    assertThat(mensagem).isPresent();
+    mensagem.ifPresent(mensagemRecebida ->
+        assertThat(mensagemRecebida.getGostei()).isEqualTo(5));
+  }
+
+  @Test
+  void devePermitirExportarMensagens_ComFiltros() {
+    // Arrange
+    var de = LocalDateTime.of(2024, 1, 15, 0, 0, 0, 150_000_000);
+
+    // Act
+    try (var mensagens = mensagemRepository.exportarMensagens(null, de, null)) {
+      var usuarios = mensagens.map(Mensagem::getUsuario).toList();
+
+      // Assert
+      Assertions.assertThat(usuarios).containsExactly("Evan", "John");
+    }
+
+    try (var mensagens = mensagemRepository.exportarMensagens("Adam", null, null)) {
+      Assertions.assertThat(mensagens.map(Mensagem::getUsuario).toList()).containsExactly("Adam");
+    }
+  }
 }
@@ -0,0 +1,123 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.api.repository.MensagemRepository;
+import br.com.fiap.api.api.service.GosteiAcumulador;
+import br.com.fiap.api.api.service.ValidadorCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class GosteiAcumuladorTest {
+  private GosteiAcumulador gosteiAcumulador;
+
+  @Mock
+  private MensagemRepository mensagemRepository;
+
+  @Mock
+  private ValidadorCache validadorCache;
+
+  AutoCloseable mock;
+
+  @BeforeEach
+  void setup() {
+    mock = MockitoAnnotations.openMocks(this);
+    gosteiAcumulador = new GosteiAcumulador(mensagemRepository, validadorCache);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mock.close();
+  }
+
+  @Test
+  void devePermitirAgruparGosteiEmUmaUnicaGravacao() {
+    // Arrange
+    var id = UUID.randomUUID();
+    var outroId = UUID.randomUUID();
+
+    // Act
+    gosteiAcumulador.registrar(id);
+    gosteiAcumulador.registrar(id);
+    gosteiAcumulador.registrar(outroId);
+    gosteiAcumulador.descarregar();
+
+    // Assert
+    verify(mensagemRepository, times(1)).incrementarGostei(Map.of(id, 2L, outroId, 1L));
+    verify(validadorCache, times(1)).invalidar(Set.of(id, outroId));
+  }
+
+  @Test
+  void naoDeveGravar_QuandoNaoExistemGosteiPendentes() {
+    // Arrange
+    gosteiAcumulador.registrar(UUID.randomUUID());
+    gosteiAcumulador.descarregar();
+
+    // Act
+    gosteiAcumulador.descarregar();
+
+    // Assert
+    verify(mensagemRepository, times(1)).incrementarGostei(anyMap());
+  }
+
+  @Test
+  void devePermitirRegistrarGostei_QuandoAcessoConcorrente() throws Exception {
+    // Arrange
+    var id = UUID.randomUUID();
+    var threads = 8;
+    var gosteiPorThread = 10_000;
+    var executor = Executors.newFixedThreadPool(threads);
+
+    // Act
+    try {
+      var tarefas = new ArrayList<Future<?>>();
+      for (int t = 0; t < threads; t++) {
+        tarefas.add(executor.submit(() -> {
+          for (int i = 0; i < gosteiPorThread; i++) {
+            gosteiAcumulador.registrar(id);
+          }
+        }));
+      }
+      for (var tarefa : tarefas) {
+        tarefa.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    gosteiAcumulador.descarregar();
+
+    // Assert
+    verify(mensagemRepository, times(1))
+        .incrementarGostei(Map.of(id, (long) threads * gosteiPorThread));
+  }
+
+  @Test
+  void deveManterGosteiPendentes_QuandoGravacaoFalhar() {
+    // Arrange
+    var id = UUID.randomUUID();
+    doThrow(new IllegalStateException("banco indisponível"))
+        .doNothing()
+        .when(mensagemRepository).incrementarGostei(anyMap());
+    gosteiAcumulador.registrar(id);
+
+    // Act
+    assertThatThrownBy(() -> gosteiAcumulador.descarregar())
+        .isInstanceOf(IllegalStateException.class);
+    gosteiAcumulador.descarregar();
+
+    // Assert
+    verify(mensagemRepository, times(2)).incrementarGostei(Map.of(id, 1L));
+  }
+}
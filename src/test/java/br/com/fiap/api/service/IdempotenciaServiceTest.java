@@ -0,0 +1,134 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.api.config.MensagemIdempotenciaProperties;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.repository.MemoriaIdempotenciaRepository;
+import br.com.fiap.api.api.service.IdempotenciaService;
+import br.com.fiap.api.utils.MensagemHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotenciaServiceTest {
+  private IdempotenciaService idempotenciaService;
+
+  private final AtomicInteger registros = new AtomicInteger();
+
+  @BeforeEach
+  void setup() {
+    var properties = new MensagemIdempotenciaProperties("memoria", 100, Duration.ofHours(1), Duration.ofSeconds(30));
+    idempotenciaService = new IdempotenciaService(
+        new MemoriaIdempotenciaRepository(properties),
+        new ObjectMapper().registerModule(new JavaTimeModule()),
+        properties);
+  }
+
+  @Test
+  void deveRepetirRespostaOriginal_SemRegistrarNovamente() {
+    // Arrange
+    var mensagem = MensagemHelper.gerarMensagem();
+    idempotenciaService.executar("chave", mensagem, () -> registrar(mensagem));
+
+    // Act
+    var repetida = idempotenciaService.executar("chave", mensagem, () -> registrar(mensagem));
+
+    // Assert
+    assertThat(registros).hasValue(1);
+    assertThat(repetida.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(repetida.getHeaders().getFirst(IdempotenciaService.IDEMPOTENT_REPLAYED)).isEqualTo("true");
+    assertThat((String) repetida.getBody()).contains(mensagem.getId().toString());
+  }
+
+  @Test
+  void deveResponderConflito_QuandoRequisicaoConcorrenteComMesmaChave() throws Exception {
+    // Arrange
+    var mensagem = MensagemHelper.gerarMensagem();
+    var emAndamento = new CountDownLatch(1);
+    var liberar = new CountDownLatch(1);
+    var primeira = CompletableFuture.supplyAsync(() -> idempotenciaService.executar("chave", mensagem, () -> {
+      emAndamento.countDown();
+      aguardar(liberar);
+      return registrar(mensagem);
+    }));
+    assertThat(emAndamento.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // Act
+    var concorrente = idempotenciaService.executar("chave", mensagem, () -> registrar(mensagem));
+    liberar.countDown();
+
+    // Assert
+    assertThat(concorrente.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    assertThat(concorrente.getHeaders().getFirst("Retry-After")).isEqualTo("1");
+    assertThat(primeira.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(registros).hasValue(1);
+  }
+
+  @Test
+  void devePermitirNovaTentativa_QuandoPrimeiraFalhar() {
+    // Arrange
+    var mensagem = MensagemHelper.gerarMensagem();
+    assertThatThrownBy(() -> idempotenciaService.executar("chave", mensagem, () -> {
+      throw new IllegalStateException("banco indisponível");
+    })).isInstanceOf(IllegalStateException.class);
+
+    // Act
+    var resposta = idempotenciaService.executar("chave", mensagem, () -> registrar(mensagem));
+
+    // Assert
+    assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+    assertThat(registros).hasValue(1);
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoChaveReutilizadaComOutraMensagem() {
+    // Arrange
+    var mensagem = MensagemHelper.gerarMensagem();
+    idempotenciaService.executar("chave", mensagem, () -> registrar(mensagem));
+    var outra = MensagemHelper.gerarMensagem();
+    outra.setConteudo("Outro conteúdo");
+
+    // Act
+    var resposta = idempotenciaService.executar("chave", outra, () -> registrar(outra));
+
+    // Assert
+    assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    assertThat(registros).hasValue(1);
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoChaveVazia() {
+    var mensagem = MensagemHelper.gerarMensagem();
+
+    var resposta = idempotenciaService.executar(" ", mensagem, () -> registrar(mensagem));
+
+    assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    assertThat(registros).hasValue(0);
+  }
+
+  private ResponseEntity<?> registrar(Mensagem mensagem) {
+    registros.incrementAndGet();
+    mensagem.setId(UUID.randomUUID());
+    return new ResponseEntity<>(mensagem, HttpStatus.CREATED);
+  }
+
+  private static void aguardar(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
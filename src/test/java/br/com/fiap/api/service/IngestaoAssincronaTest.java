@@ -0,0 +1,124 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.api.config.MensagemIngestaoProperties;
+import br.com.fiap.api.api.exception.FilaCheiaException;
+import br.com.fiap.api.api.id.UuidV7Generator;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.service.IngestaoAssincrona;
+import br.com.fiap.api.api.service.MensagemService;
+import br.com.fiap.api.utils.MensagemHelper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class IngestaoAssincronaTest {
+  private IngestaoAssincrona ingestaoAssincrona;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @Mock
+  private MensagemService mensagemService;
+
+  private final List<UUID> gravadas = new CopyOnWriteArrayList<>();
+
+  AutoCloseable mock;
+
+  @BeforeEach
+  void setup() {
+    mock = MockitoAnnotations.openMocks(this);
+    meterRegistry = new SimpleMeterRegistry();
+    ingestaoAssincrona = new IngestaoAssincrona(
+        mensagemService,
+        new UuidV7Generator(),
+        Validation.buildDefaultValidatorFactory().getValidator(),
+        new MensagemIngestaoProperties("assincrona", 100, 2, 10, Duration.ofSeconds(10)),
+        meterRegistry);
+    doAnswer(answer -> {
+      List<Mensagem> lote = answer.getArgument(0);
+      lote.forEach(mensagem -> gravadas.add(mensagem.getId()));
+      return null;
+    }).when(mensagemService).registrarMensagensComId(anyList());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    ingestaoAssincrona.stop();
+    mock.close();
+  }
+
+  @Test
+  void devePermitirEnfileirarMensagem_ComIdAtribuido() {
+    var mensagem = ingestaoAssincrona.enfileirar(MensagemHelper.gerarMensagem());
+
+    assertThat(mensagem.getId()).isNotNull();
+    assertThat(meterRegistry.get(IngestaoAssincrona.GAUGE_FILA).gauge().value()).isEqualTo(1.0);
+    verify(mensagemService, never()).registrarMensagensComId(anyList());
+  }
+
+  @Test
+  void deveGravarTodasAsMensagensAceitas_QuandoEncerrar() {
+    var aceitas = new ArrayList<UUID>();
+    for (int i = 0; i < 100; i++) {
+      aceitas.add(ingestaoAssincrona.enfileirar(MensagemHelper.gerarMensagem()).getId());
+    }
+
+    ingestaoAssincrona.start();
+    ingestaoAssincrona.stop();
+
+    assertThat(gravadas).containsExactlyInAnyOrderElementsOf(aceitas);
+    assertThat(meterRegistry.get(IngestaoAssincrona.GAUGE_FILA).gauge().value()).isZero();
+    // lotes de no máximo 10 mensagens
+    verify(mensagemService, atLeast(10)).registrarMensagensComId(anyList());
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoFilaCheia() {
+    for (int i = 0; i < 100; i++) {
+      ingestaoAssincrona.enfileirar(MensagemHelper.gerarMensagem());
+    }
+
+    assertThatThrownBy(() -> ingestaoAssincrona.enfileirar(MensagemHelper.gerarMensagem()))
+        .isInstanceOf(FilaCheiaException.class);
+    assertThat(meterRegistry.get(IngestaoAssincrona.COUNTER_MENSAGENS).tag("resultado", "rejeitada")
+        .counter().count()).isEqualTo(1.0);
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoMensagemInvalida() {
+    assertThatThrownBy(() -> ingestaoAssincrona.enfileirar(new Mensagem()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Usuário não pode estar vazio");
+  }
+
+  @Test
+  void deveTentarNovamente_QuandoGravacaoFalhar() {
+    doThrow(new IllegalStateException("banco indisponível"))
+        .doAnswer(answer -> {
+          List<Mensagem> lote = answer.getArgument(0);
+          lote.forEach(mensagem -> gravadas.add(mensagem.getId()));
+          return null;
+        })
+        .when(mensagemService).registrarMensagensComId(anyList());
+    var aceita = ingestaoAssincrona.enfileirar(MensagemHelper.gerarMensagem());
+
+    ingestaoAssincrona.start();
+    ingestaoAssincrona.stop();
+
+    assertThat(gravadas).containsExactly(aceita.getId());
+  }
+}
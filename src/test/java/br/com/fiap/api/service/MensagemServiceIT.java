@@ -1,20 +1,26 @@
 package br.com.fiap.api.service;
 
 import br.com.fiap.api.api.RestApiApplication;
+import br.com.fiap.api.api.config.ApplicationConfig;
 import br.com.fiap.api.api.service.MensagemService;
 import br.com.fiap.api.api.exception.MensagemNotFoundException;
 import br.com.fiap.api.api.model.Mensagem;
 import br.com.fiap.api.utils.MensagemHelper;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.Advised;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.BeanFactoryCacheOperationSourceAdvisor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.BeanFactoryTransactionAttributeSourceAdvisor;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,6 +34,23 @@ class MensagemServiceIT {
   @Autowired
   private MensagemService mensagemService;
 
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Test
+  void deveAplicarCachePorForaDaTransacao() {
+    var advisors = List.of(((Advised) mensagemService).getAdvisors());
+
+    var cache = advisors.stream()
+        .filter(BeanFactoryCacheOperationSourceAdvisor.class::isInstance)
+        .findFirst().orElseThrow();
+    var transacao = advisors.stream()
+        .filter(BeanFactoryTransactionAttributeSourceAdvisor.class::isInstance)
+        .findFirst().orElseThrow();
+
+    assertThat(advisors.indexOf(cache)).isLessThan(advisors.indexOf(transacao));
+  }
+
   @Nested
   class RegistrarMensagem {
     @Test
@@ -44,6 +67,19 @@ class MensagemServiceIT {
       assertThat(resultadoObtido.getDataCriacao()).isNotNull();
       assertThat(resultadoObtido.getGostei()).isZero();
     }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote() {
+      var mensagens = List.of(MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem());
+
+      var resultadoObtido = mensagemService.registrarMensagens(mensagens);
+
+      assertThat(resultadoObtido.registradas()).isEqualTo(2);
+      assertThat(resultadoObtido.rejeitadas()).isZero();
+      resultadoObtido.itens().forEach(item ->
+          assertThat(mensagemService.buscarMensagem(item.id()).getConteudo())
+              .isEqualTo("Conteúdo da mensagem"));
+    }
   }
 
   @Nested
@@ -76,6 +112,18 @@ class MensagemServiceIT {
 
     }
 
+    @Test
+    void devePermitirBuscarMensagem_QuandoPresenteNoCache() {
+      var id = UUID.fromString("4c6e0331-b9e8-44ec-96c4-1b40a738dac9");
+      var cache = cacheManager.getCache(ApplicationConfig.CACHE_MENSAGENS);
+
+      var primeiraBusca = mensagemService.buscarMensagem(id);
+      var segundaBusca = mensagemService.buscarMensagem(id);
+
+      assertThat(cache.get(id)).isNotNull();
+      assertThat(segundaBusca).isSameAs(primeiraBusca);
+    }
+
     @Test
     void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() {
       var id = UUID.fromString("f3150aae-81e9-4509-b558-18d594fff473");
@@ -131,9 +179,12 @@ class MensagemServiceIT {
     void devePermitirRemoverMensagem() {
       var id = UUID.fromString("7dc1766e-1c80-448d-b798-0ad57400dfbc");
 
+      mensagemService.buscarMensagem(id);
+
       var resultadoObtido = mensagemService.removerMensagem(id);
 
       assertThat(resultadoObtido).isTrue();
+      assertThat(cacheManager.getCache(ApplicationConfig.CACHE_MENSAGENS).get(id)).isNull();
 
     }
 
@@ -161,5 +212,37 @@ class MensagemServiceIT {
               });
     }
 
+    @Test
+    void devePermitirListarMensagensPorCursor() {
+      var primeiraPagina = mensagemService.listarMensagensPorCursor(null, 2);
+
+      assertThat(primeiraPagina.content())
+              .extracting(Mensagem::getUsuario)
+              .containsExactly("Adam", "Evan");
+      assertThat(primeiraPagina.hasNext()).isTrue();
+
+      var segundaPagina = mensagemService.listarMensagensPorCursor(primeiraPagina.nextCursor(), 2);
+
+      assertThat(segundaPagina.content())
+              .extracting(Mensagem::getUsuario)
+              .containsExactly("John");
+      assertThat(segundaPagina.hasNext()).isFalse();
+      assertThat(segundaPagina.nextCursor()).isNull();
+    }
+
+    @Test
+    void devePermitirBuscarMensagens() {
+      var primeiraPagina = mensagemService.buscarMensagens("mensagem", null, 2);
+      var segundaPagina = mensagemService.buscarMensagens("mensagem", primeiraPagina.nextCursor(), 2);
+
+      assertThat(primeiraPagina.content()).hasSize(2);
+      assertThat(primeiraPagina.hasNext()).isTrue();
+      assertThat(segundaPagina.content()).hasSize(1);
+      assertThat(segundaPagina.hasNext()).isFalse();
+      assertThat(mensagemService.buscarMensagens("mensagem 02", null, 10).content())
+              .extracting(Mensagem::getUsuario)
+              .containsExactly("Evan");
+    }
+
   }
 }
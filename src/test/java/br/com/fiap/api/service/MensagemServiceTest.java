@@ -1,11 +1,24 @@
 package br.com.fiap.api.service;
 
+import br.com.fiap.api.api.config.MensagemCacheProperties;
+import br.com.fiap.api.api.config.MensagemLoteProperties;
 import br.com.fiap.api.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.api.event.MensagemEvento;
+import br.com.fiap.api.api.id.UuidV7Generator;
+import br.com.fiap.api.api.model.BuscaCursor;
+import br.com.fiap.api.api.model.CampoMensagem;
+import br.com.fiap.api.api.model.ItemLote;
 import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.model.MensagemCursor;
+import br.com.fiap.api.api.model.MensagemParcial;
+import br.com.fiap.api.api.model.MensagemRelevante;
+import br.com.fiap.api.api.repository.MensagemBuscaRepository;
 import br.com.fiap.api.api.repository.MensagemRepository;
+import br.com.fiap.api.api.service.GosteiAcumulador;
 import br.com.fiap.api.api.service.MensagemService;
 import br.com.fiap.api.api.service.MensagemServiceImpl;
 import br.com.fiap.api.utils.MensagemHelper;
+import jakarta.validation.Validation;
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.AfterEach;
@@ -13,13 +26,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -32,13 +55,30 @@ class MensagemServiceTest {
     @Mock
     private MensagemRepository mensagemRepository;
 
+    @Mock
+    private GosteiAcumulador gosteiAcumulador;
+
+    @Mock
+    private MensagemBuscaRepository mensagemBuscaRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     AutoCloseable mock;
 
     @BeforeEach
     void setup() {
         // Define que todas as variáveis com a anotação mock sejam carregadas
         mock = MockitoAnnotations.openMocks(this);
-        mensagemService = new MensagemServiceImpl(mensagemRepository);
+        mensagemService = new MensagemServiceImpl(
+            mensagemRepository,
+            new UuidV7Generator(),
+            new MensagemLoteProperties(3, 2),
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            gosteiAcumulador,
+            mensagemBuscaRepository,
+            eventPublisher,
+            new MensagemCacheProperties(100, Duration.ofMinutes(1), 2));
     }
 
     @AfterEach
@@ -66,6 +106,51 @@ class MensagemServiceTest {
         AssertionsForClassTypes.assertThat(mensagem.getId()).isNotNull();
 
         verify(mensagemRepository, times(1)).save(any(Mensagem.class));
+        verify(eventPublisher, times(1)).publishEvent(MensagemEvento.criada(mensagemRegistrada));
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote() {
+        // Arrange
+        var mensagemInvalida = new Mensagem();
+        var mensagens = Arrays.asList(MensagemHelper.gerarMensagem(), mensagemInvalida, MensagemHelper.gerarMensagem());
+
+        // Act
+        var resultado = mensagemService.registrarMensagens(mensagens);
+
+        // Assert
+        AssertionsForClassTypes.assertThat(resultado.total()).isEqualTo(3);
+        AssertionsForClassTypes.assertThat(resultado.registradas()).isEqualTo(2);
+        AssertionsForClassTypes.assertThat(resultado.rejeitadas()).isEqualTo(1);
+        Assertions.assertThat(resultado.itens())
+            .extracting(ItemLote::status)
+            .containsExactly(
+                ItemLote.StatusItemLote.REGISTRADA,
+                ItemLote.StatusItemLote.REJEITADA,
+                ItemLote.StatusItemLote.REGISTRADA);
+        Assertions.assertThat(resultado.itens().get(1).erros())
+            .containsExactly("Conteúdo não pode estar vazio", "Usuário não pode estar vazio");
+
+        verify(mensagemRepository, times(1)).inserirEmLote(
+            argThat(lote -> lote.size() == 2 && lote.stream().allMatch(m -> m.getId() != null)), eq(2));
+        verify(mensagemRepository, never()).save(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoRegistrarMensagensEmLote_TamanhoMaximoExcedido() {
+        // Arrange
+        var mensagens = Arrays.asList(
+            MensagemHelper.gerarMensagem(),
+            MensagemHelper.gerarMensagem(),
+            MensagemHelper.gerarMensagem(),
+            MensagemHelper.gerarMensagem());
+
+        // Act && Assert
+        assertThatThrownBy(() -> mensagemService.registrarMensagens(mensagens))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Lote excede o tamanho máximo de 3 mensagens");
+
+        verify(mensagemRepository, never()).inserirEmLote(anyList(), anyInt());
     }
 
     @Test
@@ -87,6 +172,24 @@ class MensagemServiceTest {
         verify(mensagemRepository, times(1)).findById(any(UUID.class));
     }
 
+    @Test
+    void devePermitirBuscarMensagem_ComCamposSelecionados() {
+        // Arrange
+        var id = UUID.randomUUID();
+        var campos = EnumSet.of(CampoMensagem.ID, CampoMensagem.CONTEUDO);
+        var parcial = new MensagemParcial(id, null, "conteúdo", null, null, null, null);
+
+        when(mensagemRepository.buscarCampos(id, campos))
+            .thenReturn(Optional.of(parcial));
+
+        // Act
+        var mensagemObtida = mensagemService.buscarMensagem(id, campos);
+
+        // Assert
+        AssertionsForClassTypes.assertThat(mensagemObtida).isEqualTo(parcial);
+        verify(mensagemRepository, never()).findById(any(UUID.class));
+    }
+
     @Test
     void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() {
         // Arrange
@@ -115,11 +218,14 @@ class MensagemServiceTest {
         mensagemNova.setUsuario(mensagemAntiga.getUsuario());
         mensagemNova.setConteudo("ABCD 12345");
 
-        when(mensagemRepository.findById(id))
-            .thenReturn(Optional.of(mensagemAntiga));
+        var mensagemPersistida = MensagemHelper.gerarMensagem();
+        mensagemPersistida.setId(id);
+        mensagemPersistida.setConteudo(mensagemNova.getConteudo());
 
-        when(mensagemRepository.save(mensagemNova))
-            .thenAnswer(answer -> answer.getArgument(0));
+        when(mensagemRepository.alterarConteudo(id, mensagemNova.getConteudo()))
+            .thenReturn(1);
+        when(mensagemRepository.findById(id))
+            .thenReturn(Optional.of(mensagemPersistida));
 
         //Act
         var mensagemObtida = mensagemService.alterarMensagem(id, mensagemNova);
@@ -128,11 +234,10 @@ class MensagemServiceTest {
         AssertionsForClassTypes.assertThat(mensagemObtida).isNotNull().isInstanceOf(Mensagem.class);
         AssertionsForClassTypes.assertThat(mensagemObtida.getId()).isEqualTo(mensagemNova.getId());
         AssertionsForClassTypes.assertThat(mensagemObtida.getConteudo()).isEqualTo(mensagemNova.getConteudo());
-        AssertionsForClassTypes.assertThat(mensagemObtida.getConteudo()).isEqualTo(mensagemNova.getConteudo());
         AssertionsForClassTypes.assertThat(mensagemObtida.getUsuario()).isEqualTo(mensagemNova.getUsuario());
 
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
-        verify(mensagemRepository, times(1)).save(any(Mensagem.class));
+        verify(mensagemRepository, times(1)).alterarConteudo(any(UUID.class), anyString());
+        verify(mensagemRepository, never()).save(any(Mensagem.class));
     }
 
     @Test
@@ -142,15 +247,16 @@ class MensagemServiceTest {
         var mensagem = MensagemHelper.gerarMensagem();
         mensagem.setId(id);
 
-        when(mensagemRepository.findById(id))
-            .thenReturn(Optional.empty());
+        when(mensagemRepository.alterarConteudo(id, mensagem.getConteudo()))
+            .thenReturn(0);
 
         // Act && Assert
         assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagem))
             .isInstanceOf(MensagemNotFoundException.class)
             .hasMessage("Mensagem não encontrada");
 
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
+        verify(mensagemRepository, times(1)).alterarConteudo(any(UUID.class), anyString());
+        verify(mensagemRepository, never()).findById(any(UUID.class));
         verify(mensagemRepository, never()).save(any(Mensagem.class));
     }
 
@@ -160,21 +266,17 @@ class MensagemServiceTest {
     void deveGerarExcecao_QuandoAlterarMensagem_IdDaMensagemNovaApresentaValorDiferente() {
         // Arrange
         var id = UUID.randomUUID();
-        var mensagemAntiga = MensagemHelper.gerarMensagem();
-        mensagemAntiga.setId(id);
 
         var mensagemNova = MensagemHelper.gerarMensagem();
         mensagemNova.setId(UUID.randomUUID());
         mensagemNova.setConteudo("ABCD 12345");
 
-        when(mensagemRepository.findById(id)).thenReturn(Optional.of(mensagemAntiga));
-
         // Act && Assert
         assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagemNova))
             .isInstanceOf(MensagemNotFoundException.class)
             .hasMessage("mensagem atualiza não apresenta ID correto");
 
-        verify(mensagemRepository, times(1)).findById(any(UUID.class));
+        verify(mensagemRepository, never()).alterarConteudo(any(UUID.class), anyString());
         verify(mensagemRepository, never()).save(any(Mensagem.class));
     }
 
@@ -182,11 +284,8 @@ class MensagemServiceTest {
   void devePermitirRemoverMensagem() {
     // Arrange
     var id = UUID.fromString("a69574b2-57c4-44f7-9edf-39d6c85589a2");
-    var mensagem = MensagemHelper.gerarMensagem();
-    mensagem.setId(id);
 
-    when(mensagemRepository.findById(id)).thenReturn(Optional.of(mensagem));
-    doNothing().when(mensagemRepository).deleteById(id);
+    when(mensagemRepository.removerPorId(id)).thenReturn(1);
 
     // Act
     var mensagemFoiRemovida = mensagemService.removerMensagem(id);
@@ -194,25 +293,57 @@ class MensagemServiceTest {
     // Assert
     assertThat(mensagemFoiRemovida).isTrue();
 
-    verify(mensagemRepository,times(1)).findById(any(UUID.class));
-    verify(mensagemRepository, times(1)).deleteById(any(UUID.class));
+    verify(mensagemRepository, times(1)).removerPorId(any(UUID.class));
+    verify(mensagemRepository, never()).findById(any(UUID.class));
+    verify(mensagemRepository, never()).deleteById(any(UUID.class));
+    verify(eventPublisher, times(1)).publishEvent(MensagemEvento.removida(id));
   }
 
   @Test
   void deveGerarExcecao_QuandoRemoverMensagem_IdNaoExiste() {
     // Arrange
     var id = UUID.fromString("a69574b2-57c4-44f7-9edf-39d6c85589a2");
-    when(mensagemRepository.findById(id)).thenReturn(Optional.empty());
+    when(mensagemRepository.removerPorId(id)).thenReturn(0);
 
     // Act & Assert
     assertThatThrownBy(() -> mensagemService.removerMensagem(id))
         .isInstanceOf(MensagemNotFoundException.class)
         .hasMessage("Mensagem não encontrada");
 
-    verify(mensagemRepository,times(1)).findById(any(UUID.class));
-    verify(mensagemRepository,never()).deleteById(any(UUID.class));
+    verify(mensagemRepository, times(1)).removerPorId(any(UUID.class));
+    verify(mensagemRepository, never()).deleteById(any(UUID.class));
   }
 
+    @Test
+    void devePermitirRegistrarGostei() {
+      // Arrange
+      var id = UUID.randomUUID();
+
+      // Act
+      mensagemService.registrarGostei(id);
+
+      // Assert
+      verify(gosteiAcumulador, times(1)).registrar(id);
+      verifyNoInteractions(mensagemRepository);
+    }
+
+    @Test
+    void devePermitirExportarMensagens() {
+      // Arrange
+      var exportadas = new ArrayList<Mensagem>();
+      var de = LocalDateTime.of(2024, 1, 1, 0, 0);
+      when(mensagemRepository.exportarMensagens("Jose", de, null))
+          .thenReturn(Stream.of(MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem()));
+
+      // Act
+      mensagemService.exportarMensagens("Jose", de, null, exportadas::add);
+
+      // Assert
+      Assertions.assertThat(exportadas).hasSize(2);
+      verify(mensagemRepository, times(1)).exportarMensagens("Jose", de, null);
+      verify(mensagemRepository, never()).listarMensagens(any(Pageable.class));
+    }
+
     @Test
     void devePermitirListarMensagens() {
       // Arrange
@@ -238,4 +369,188 @@ class MensagemServiceTest {
 
       verify(mensagemRepository, times(1)).listarMensagens(any(Pageable.class));
     }
+
+    @Test
+    void devePermitirListarMensagens_PrimeirasPaginasPeloCacheDeConsultas() {
+      // Arrange
+      Page<Mensagem> listaDeMensagens = new PageImpl<>(List.of(MensagemHelper.gerarMensagem()));
+      when(mensagemRepository.listarMensagensEmCache(any(Pageable.class)))
+          .thenReturn(listaDeMensagens);
+      when(mensagemRepository.listarMensagens(any(Pageable.class)))
+          .thenReturn(listaDeMensagens);
+
+      // Act
+      mensagemService.listarMensagens(PageRequest.of(1, 10));
+      mensagemService.listarMensagens(PageRequest.of(2, 10));
+
+      // Assert
+      verify(mensagemRepository, times(1)).listarMensagensEmCache(PageRequest.of(1, 10));
+      verify(mensagemRepository, times(1)).listarMensagens(PageRequest.of(2, 10));
+    }
+
+    @Test
+    void devePermitirListarMensagensSemTotal() {
+      // Arrange
+      var pageable = PageRequest.of(0, 2);
+      Slice<Mensagem> fatia = new SliceImpl<>(List.of(
+          MensagemHelper.gerarMensagem(),
+          MensagemHelper.gerarMensagem()
+      ), pageable, true);
+      when(mensagemRepository.listarMensagensSemTotal(pageable))
+          .thenReturn(fatia);
+
+      // Act
+      var resultadoObtido = mensagemService.listarMensagensSemTotal(pageable);
+
+      // Assert
+      Assertions.assertThat(resultadoObtido.getContent()).hasSize(2);
+      assertThat(resultadoObtido.hasNext()).isTrue();
+      verify(mensagemRepository, times(1)).listarMensagensSemTotal(pageable);
+      verify(mensagemRepository, never()).listarMensagens(any(Pageable.class));
+      verify(mensagemRepository, never()).count();
+    }
+
+    @Test
+    void devePermitirContarMensagensAproximado() {
+      // Arrange
+      when(mensagemRepository.count()).thenReturn(42L);
+
+      // Act
+      var total = mensagemService.contarMensagensAproximado();
+
+      // Assert
+      assertThat(total).isEqualTo(42L);
+    }
+
+    @Test
+    void devePermitirListarMensagensPorUsuario() {
+      // Arrange
+      var ultimaLida = gerarMensagemComId();
+      var cursor = MensagemCursor.of(ultimaLida).encode();
+      var mensagens = List.of(gerarMensagemComId(), gerarMensagemComId());
+      when(mensagemRepository.listarMensagensPorUsuario(
+          eq("Jose"), eq(ultimaLida.getDataCriacao()), eq(ultimaLida.getId()), any(Pageable.class)))
+          .thenReturn(mensagens);
+
+      // Act
+      var resultadoObtido = mensagemService.listarMensagensPorUsuario("Jose", cursor, 1);
+
+      // Assert
+      Assertions.assertThat(resultadoObtido.content()).containsExactly(mensagens.get(0));
+      assertThat(resultadoObtido.hasNext()).isTrue();
+      assertThat(MensagemCursor.decode(resultadoObtido.nextCursor()))
+          .isEqualTo(MensagemCursor.of(mensagens.get(0)));
+      verify(mensagemRepository, times(1)).listarMensagensPorUsuario(
+          eq("Jose"), eq(ultimaLida.getDataCriacao()), eq(ultimaLida.getId()), eq(PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void devePermitirBuscarMensagens() {
+      // Arrange
+      var resultados = List.of(
+          new MensagemRelevante(gerarMensagemComId(), 0.9f),
+          new MensagemRelevante(gerarMensagemComId(), 0.5f),
+          new MensagemRelevante(gerarMensagemComId(), 0.1f));
+      when(mensagemBuscaRepository.buscar("mensagem", null, 3))
+          .thenReturn(resultados);
+
+      // Act
+      var resultadoObtido = mensagemService.buscarMensagens("mensagem", null, 2);
+
+      // Assert
+      Assertions.assertThat(resultadoObtido.content())
+          .containsExactly(resultados.get(0).mensagem(), resultados.get(1).mensagem());
+      assertThat(resultadoObtido.hasNext()).isTrue();
+      assertThat(BuscaCursor.decode(resultadoObtido.nextCursor()))
+          .isEqualTo(BuscaCursor.of(resultados.get(1)));
+    }
+
+    @Test
+    void devePermitirBuscarMensagens_AposCursor() {
+      // Arrange
+      var ultimaLida = new MensagemRelevante(gerarMensagemComId(), 0.5f);
+      var cursor = BuscaCursor.of(ultimaLida).encode();
+      when(mensagemBuscaRepository.buscar("mensagem", BuscaCursor.of(ultimaLida), 3))
+          .thenReturn(List.of(new MensagemRelevante(gerarMensagemComId(), 0.1f)));
+
+      // Act
+      var resultadoObtido = mensagemService.buscarMensagens("mensagem", cursor, 2);
+
+      // Assert
+      Assertions.assertThat(resultadoObtido.content()).hasSize(1);
+      assertThat(resultadoObtido.hasNext()).isFalse();
+      assertThat(resultadoObtido.nextCursor()).isNull();
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoBuscarMensagens_ConsultaVazia() {
+      assertThatThrownBy(() -> mensagemService.buscarMensagens(" ", null, 10))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Consulta não pode estar vazia");
+
+      verifyNoInteractions(mensagemBuscaRepository);
+    }
+
+    @Test
+    void devePermitirListarMensagensPorCursor_PrimeiraPagina() {
+      // Arrange
+      var mensagens = List.of(gerarMensagemComId(), gerarMensagemComId(), gerarMensagemComId());
+      when(mensagemRepository.listarMensagensPorCursor(any(Pageable.class)))
+          .thenReturn(mensagens);
+
+      // Act
+      var resultadoObtido = mensagemService.listarMensagensPorCursor(null, 2);
+
+      // Assert
+      Assertions.assertThat(resultadoObtido.content()).hasSize(2);
+      assertThat(resultadoObtido.hasNext()).isTrue();
+      assertThat(MensagemCursor.decode(resultadoObtido.nextCursor()))
+          .isEqualTo(MensagemCursor.of(mensagens.get(1)));
+
+      verify(mensagemRepository, times(1)).listarMensagensPorCursor(any(Pageable.class));
+      verify(mensagemRepository, never()).listarMensagens(any(Pageable.class));
+    }
+
+    @Test
+    void devePermitirListarMensagensPorCursor_UltimaPagina() {
+      // Arrange
+      var ultimaLida = gerarMensagemComId();
+      var cursor = MensagemCursor.of(ultimaLida).encode();
+      when(mensagemRepository.listarMensagensPorCursor(
+          eq(ultimaLida.getDataCriacao()), eq(ultimaLida.getId()), any(Pageable.class)))
+          .thenReturn(List.of(gerarMensagemComId()));
+
+      // Act
+      var resultadoObtido = mensagemService.listarMensagensPorCursor(cursor, 2);
+
+      // Assert
+      Assertions.assertThat(resultadoObtido.content()).hasSize(1);
+      assertThat(resultadoObtido.hasNext()).isFalse();
+      assertThat(resultadoObtido.nextCursor()).isNull();
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagensPorCursor_CursorInvalido() {
+      assertThatThrownBy(() -> mensagemService.listarMensagensPorCursor("cursor-invalido", 10))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Cursor inválido");
+
+      verify(mensagemRepository, never())
+          .listarMensagensPorCursor(any(LocalDateTime.class), any(UUID.class), any(Pageable.class));
+    }
+
+    @Test
+    void deveGerarExcecao_QuandoListarMensagensPorCursor_TamanhoAcimaDoMaximo() {
+      assertThatThrownBy(() -> mensagemService.listarMensagensPorCursor(null, MensagemServiceImpl.TAMANHO_MAXIMO_PAGINA + 1))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Tamanho da página deve estar entre 1 e " + MensagemServiceImpl.TAMANHO_MAXIMO_PAGINA);
+
+      verifyNoInteractions(mensagemRepository);
+    }
+
+    private Mensagem gerarMensagemComId() {
+      var mensagem = MensagemHelper.gerarMensagem();
+      mensagem.setId(UUID.randomUUID());
+      return mensagem;
+    }
 }
@@ -0,0 +1,103 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.api.exception.MensagemNotFoundException;
+import br.com.fiap.api.api.id.UuidV7Generator;
+import br.com.fiap.api.api.model.Mensagem;
+import br.com.fiap.api.api.repository.MensagemReactiveRepository;
+import br.com.fiap.api.api.service.ReactiveMensagemService;
+import br.com.fiap.api.api.service.ReactiveMensagemServiceImpl;
+import br.com.fiap.api.utils.MensagemHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReactiveMensagemServiceTest {
+  private ReactiveMensagemService mensagemService;
+
+  @Mock
+  private MensagemReactiveRepository mensagemRepository;
+
+  AutoCloseable mock;
+
+  @BeforeEach
+  void setup() {
+    mock = MockitoAnnotations.openMocks(this);
+    mensagemService = new ReactiveMensagemServiceImpl(mensagemRepository, new UuidV7Generator());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    mock.close();
+  }
+
+  @Test
+  void devePermitirRegistrarMensagem() {
+    var mensagem = MensagemHelper.gerarMensagem();
+    when(mensagemRepository.inserir(any(Mensagem.class)))
+        .thenAnswer(answer -> Mono.just(answer.getArgument(0)));
+
+    StepVerifier.create(mensagemService.registrarMensagem(mensagem))
+        .assertNext(mensagemRegistrada -> assertThat(mensagemRegistrada.getId()).isNotNull())
+        .verifyComplete();
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoBuscarMensagem_IdNaoExiste() {
+    var id = UUID.randomUUID();
+    when(mensagemRepository.buscarPorId(id)).thenReturn(Mono.empty());
+
+    StepVerifier.create(mensagemService.buscarMensagem(id))
+        .expectErrorSatisfies(erro -> assertThat(erro)
+            .isInstanceOf(MensagemNotFoundException.class)
+            .hasMessage("Mensagem não encontrada"))
+        .verify();
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoAlterarMensagem_IdDaMensagemNovaApresentaValorDiferente() {
+    var mensagemNova = MensagemHelper.gerarMensagem();
+    mensagemNova.setId(UUID.randomUUID());
+
+    StepVerifier.create(mensagemService.alterarMensagem(UUID.randomUUID(), mensagemNova))
+        .expectErrorMessage("mensagem atualiza não apresenta ID correto")
+        .verify();
+
+    verify(mensagemRepository, never()).alterarConteudo(any(UUID.class), any());
+  }
+
+  @Test
+  void deveGerarExcecao_QuandoRemoverMensagem_IdNaoExiste() {
+    var id = UUID.randomUUID();
+    when(mensagemRepository.removerPorId(id)).thenReturn(Mono.just(0L));
+
+    StepVerifier.create(mensagemService.removerMensagem(id))
+        .expectError(MensagemNotFoundException.class)
+        .verify();
+  }
+
+  @Test
+  void devePermitirListarMensagens() {
+    when(mensagemRepository.listarMensagens(0, 10))
+        .thenReturn(Flux.just(MensagemHelper.gerarMensagem(), MensagemHelper.gerarMensagem()));
+    when(mensagemRepository.contarMensagens()).thenReturn(Mono.just(2L));
+
+    StepVerifier.create(mensagemService.listarMensagens(PageRequest.of(0, 10)))
+        .assertNext(page -> {
+          assertThat(page.getContent()).hasSize(2);
+          assertThat(page.getTotalElements()).isEqualTo(2);
+        })
+        .verifyComplete();
+  }
+}
@@ -0,0 +1,110 @@
+package br.com.fiap.api.service;
+
+import br.com.fiap.api.api.event.MensagemEvento;
+import br.com.fiap.api.api.service.ValidadorCache;
+import br.com.fiap.api.utils.MensagemHelper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static br.com.fiap.api.api.config.ApplicationConfig.CACHE_MENSAGENS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidadorCacheTest {
+  private CacheManager cacheManager;
+  private ValidadorCache validadorCache;
+
+  @BeforeEach
+  void setup() {
+    cacheManager = new ConcurrentMapCacheManager();
+    validadorCache = new ValidadorCache(cacheManager);
+  }
+
+  @Test
+  void devePermitirRegistrarMensagem_QuandoGeracaoNaoMudou() {
+    // Arrange
+    var mensagem = MensagemHelper.gerarMensagem();
+    mensagem.setId(UUID.randomUUID());
+
+    // Act
+    var validador = validadorCache.registrarMensagem(mensagem, validadorCache.geracao());
+
+    // Assert
+    assertThat(validadorCache.buscarMensagem(mensagem.getId())).isEqualTo(validador);
+  }
+
+  @Test
+  void naoDeveRegistrarMensagem_QuandoInvalidadaDuranteLeitura() {
+    // Arrange
+    var mensagem = MensagemHelper.gerarMensagem();
+    mensagem.setId(UUID.randomUUID());
+    var geracao = validadorCache.geracao();
+    // a leitura antiga também passou pelo cache do serviço depois da invalidação
+    validadorCache.invalidar(Set.of(mensagem.getId()));
+    var entidades = cacheManager.getCache(CACHE_MENSAGENS);
+    entidades.put(mensagem.getId(), mensagem);
+
+    // Act
+    validadorCache.registrarMensagem(mensagem, geracao);
+
+    // Assert
+    assertThat(validadorCache.buscarMensagem(mensagem.getId())).isNull();
+    assertThat(entidades.get(mensagem.getId())).isNull();
+  }
+
+  @Test
+  void deveDesfazerRegistro_QuandoInvalidadoDuranteGravacao() {
+    // Arrange
+    var id = UUID.randomUUID();
+    var mensagem = MensagemHelper.gerarMensagem();
+    mensagem.setId(id);
+    // a invalidação acontece entre a primeira conferência da geração e o putIfAbsent
+    var cacheManagerComEscrita = new ConcurrentMapCacheManager() {
+      ValidadorCache alvo;
+
+      @Override
+      protected ConcurrentMapCache createConcurrentMapCache(String name) {
+        return new ConcurrentMapCache(name) {
+          @Override
+          public ValueWrapper putIfAbsent(Object key, Object value) {
+            alvo.invalidar(Set.of(id));
+            return super.putIfAbsent(key, value);
+          }
+        };
+      }
+    };
+    var cache = new ValidadorCache(cacheManagerComEscrita);
+    cacheManagerComEscrita.alvo = cache;
+
+    // Act
+    cache.registrarMensagem(mensagem, cache.geracao());
+
+    // Assert
+    assertThat(cache.buscarMensagem(id)).isNull();
+  }
+
+  @Test
+  void deveInvalidarValidadores_QuandoReceberEventoDeMensagem() {
+    // Arrange
+    var mensagem = MensagemHelper.gerarMensagem();
+    mensagem.setId(UUID.randomUUID());
+    var pageable = PageRequest.of(0, 10);
+    validadorCache.registrarMensagem(mensagem, validadorCache.geracao());
+    validadorCache.registrarPagina(pageable, new PageImpl<>(List.of(mensagem), pageable, 1), validadorCache.geracao());
+
+    // Act
+    validadorCache.atualizar(MensagemEvento.alterada(mensagem));
+
+    // Assert
+    assertThat(validadorCache.buscarMensagem(mensagem.getId())).isNull();
+    assertThat(validadorCache.buscarPagina(pageable)).isNull();
+  }
+}
@@ -1,6 +1,6 @@
 INSERT INTO mensagem
-    (id, usuario, conteudo, data_criacao, gostei)
+    (id, usuario, conteudo, data_criacao, gostei, versao)
 VALUES
-    ('4c6e0331-b9e8-44ec-96c4-1b40a738dac9', 'Adam', 'Conteudo da mensagem 01', '2024-01-15 00:00:00.100', 0),
-    ('7e158e54-2baa-4e96-9519-c6278c62ea91', 'Evan', 'Conteudo da mensagem 02', '2024-01-15 00:00:00.200', 0),
-    ('7dc1766e-1c80-448d-b798-0ad57400dfbc', 'John', 'Conteudo da mensagem 03', '2024-01-15 00:00:00.300', 0);
+    ('4c6e0331-b9e8-44ec-96c4-1b40a738dac9', 'Adam', 'Conteudo da mensagem 01', '2024-01-15 00:00:00.100', 0, 0),
+    ('7e158e54-2baa-4e96-9519-c6278c62ea91', 'Evan', 'Conteudo da mensagem 02', '2024-01-15 00:00:00.200', 0, 0),
+    ('7dc1766e-1c80-448d-b798-0ad57400dfbc', 'John', 'Conteudo da mensagem 03', '2024-01-15 00:00:00.300', 0, 0);